@@ -0,0 +1,112 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Specs the benchmarks run against, loaded from the classpath.
+ */
+final class BenchmarkSpecs {
+    /**
+     * The petstore used by the codegen tests, which covers most property and parameter kinds.
+     */
+    static final String PETSTORE = "petstore-with-fake-endpoints-models-for-testing.yaml";
+
+    private BenchmarkSpecs() {
+    }
+
+    /**
+     * Parses a spec and flattens its inline models, as the generator does before processing it.
+     *
+     * @param resource classpath resource of the spec
+     * @return the flattened spec
+     */
+    static Swagger load(String resource) {
+        InputStream in = BenchmarkSpecs.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("spec not found on the classpath: " + resource);
+        }
+        String content;
+        try {
+            content = IOUtils.toString(in, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("unable to read " + resource, e);
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+        Swagger swagger = new SwaggerParser().parse(content);
+        new InlineModelResolver().flatten(swagger);
+        return swagger;
+    }
+
+    /**
+     * @return the model, property, parameter and operation names of a spec, i.e. the inputs the naming
+     * functions are called with during generation
+     */
+    static List<String> names(Swagger swagger) {
+        Set<String> names = new LinkedHashSet<String>();
+        if (swagger.getDefinitions() != null) {
+            for (Map.Entry<String, Model> entry : swagger.getDefinitions().entrySet()) {
+                names.add(entry.getKey());
+                if (entry.getValue().getProperties() != null) {
+                    names.addAll(entry.getValue().getProperties().keySet());
+                }
+            }
+        }
+        for (BoundOperation bound : operations(swagger)) {
+            if (bound.operation.getOperationId() != null) {
+                names.add(bound.operation.getOperationId());
+            }
+            for (Parameter parameter : bound.operation.getParameters()) {
+                names.add(parameter.getName());
+            }
+        }
+        return new ArrayList<String>(names);
+    }
+
+    /**
+     * An operation along with the path and method it is bound to.
+     */
+    static class BoundOperation {
+        final String path;
+        final String httpMethod;
+        final Operation operation;
+
+        BoundOperation(String path, HttpMethod httpMethod, Operation operation) {
+            this.path = path;
+            this.httpMethod = httpMethod.toString().toLowerCase();
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * @return the operations of a spec, in path order
+     */
+    static List<BoundOperation> operations(Swagger swagger) {
+        List<BoundOperation> operations = new ArrayList<BoundOperation>();
+        if (swagger.getPaths() != null) {
+            for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+                for (Map.Entry<HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                    operations.add(new BoundOperation(path.getKey(), operation.getKey(), operation.getValue()));
+                }
+            }
+        }
+        return operations;
+    }
+}
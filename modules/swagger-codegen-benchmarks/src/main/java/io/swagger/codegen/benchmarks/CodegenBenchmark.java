@@ -0,0 +1,78 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The conversions of spec elements to their codegen counterparts, run with the java client generator over all
+ * properties, models and operations of the petstore spec. Scores are per spec rather than per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodegenBenchmark {
+    private Swagger swagger;
+    private JavaClientCodegen config;
+    private List<Map.Entry<String, Property>> properties;
+    private List<BenchmarkSpecs.BoundOperation> operations;
+
+    @Setup
+    public void setUp() {
+        swagger = BenchmarkSpecs.load(BenchmarkSpecs.PETSTORE);
+        config = new JavaClientCodegen();
+        config.processOpts();
+        config.preprocessSwagger(swagger);
+
+        properties = new ArrayList<Map.Entry<String, Property>>();
+        for (Model model : swagger.getDefinitions().values()) {
+            if (model.getProperties() != null) {
+                properties.addAll(model.getProperties().entrySet());
+            }
+        }
+        operations = BenchmarkSpecs.operations(swagger);
+    }
+
+    @Benchmark
+    public void fromProperty(Blackhole blackhole) {
+        for (Map.Entry<String, Property> property : properties) {
+            blackhole.consume(config.fromProperty(property.getKey(), property.getValue()));
+        }
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        Map<String, Model> definitions = swagger.getDefinitions();
+        for (Map.Entry<String, Model> model : definitions.entrySet()) {
+            blackhole.consume(config.fromModel(model.getKey(), model.getValue(), definitions));
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (BenchmarkSpecs.BoundOperation bound : operations) {
+            blackhole.consume(config.fromOperation(bound.path, bound.httpMethod, bound.operation,
+                    swagger.getDefinitions(), swagger));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.models.Swagger;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link DefaultGenerator#generate()} runs on a {@link SyntheticSpec}, from the flattening of the spec to
+ * the files written in a temporary folder. The spec is built before each run, since generation modifies it.
+ * <p>
+ * The size of the spec is set with the parameters, e.g. {@code -p definitions=5000 -p operations=2000}; run
+ * with {@code -prof gc} for allocation rates and {@code -prof io.swagger.codegen.benchmarks.PeakHeapProfiler}
+ * for peak heap usage.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class GenerateBenchmark {
+    /**
+     * Generator name; the java generator uses its default library, okhttp-gson.
+     */
+    @Param({"java", "spring", "typescript-fetch", "python", "go"})
+    public String language;
+
+    @Param({"500"})
+    public int definitions;
+
+    @Param({"10"})
+    public int properties;
+
+    @Param({"2"})
+    public int allOfDepth;
+
+    @Param({"200"})
+    public int operations;
+
+    @Param({"20"})
+    public int tags;
+
+    @Param({"1"})
+    public int inlineSchemas;
+
+    /**
+     * Number of render workers, see {@link ClientOptInput#workers(int)}.
+     */
+    @Param({"1"})
+    public int workers;
+
+    private Swagger swagger;
+    private File output;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+        swagger = new SyntheticSpec()
+                .definitions(definitions)
+                .properties(properties)
+                .allOfDepth(allOfDepth)
+                .operations(operations)
+                .tags(tags)
+                .inlineSchemas(inlineSchemas)
+                .build();
+        output = Files.createTempDirectory("swagger-codegen-benchmark").toFile();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(output);
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        CodegenConfig config = CodegenConfigLoader.forName(language);
+        config.setOutputDir(output.getAbsolutePath());
+        ClientOptInput input = new ClientOptInput()
+                .opts(new ClientOpts())
+                .swagger(swagger)
+                .config(config)
+                .workers(workers);
+        return new DefaultGenerator().opts(input).generate();
+    }
+}
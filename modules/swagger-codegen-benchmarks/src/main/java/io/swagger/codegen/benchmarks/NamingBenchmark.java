@@ -0,0 +1,148 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.DefaultCodegen;
+import io.swagger.codegen.NamingService;
+import io.swagger.codegen.languages.JavaClientCodegen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The string utilities of {@link DefaultCodegen} that are called for every model, property, parameter and
+ * operation. Each invocation runs the function once over all names of the petstore spec plus a few names
+ * exercising the special cases, so scores are per batch rather than per name.
+ * <p>
+ * The static helpers memoize their results, so after warmup they measure lookups; the {@code *Uncached}
+ * benchmarks measure the conversions themselves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NamingBenchmark {
+    private static final String[] SPECIAL_NAMES = {
+            "snake_case_name", "kebab-case-name", "dotted.name", "path/like/name", "$special[property.name]",
+            "123_starts_with_digit", "name with spaces", "UPPER_CASE_NAME", "class", "_leading_underscore",
+            "name:with;non#name-elements", "Ω_unicode_name"
+    };
+
+    private String[] names;
+    private DefaultCodegen defaultCodegen;
+    private JavaClientCodegen javaCodegen;
+    private NamingService uncached;
+
+    @Setup
+    public void setUp() {
+        List<String> list = BenchmarkSpecs.names(BenchmarkSpecs.load(BenchmarkSpecs.PETSTORE));
+        list.addAll(Arrays.asList(SPECIAL_NAMES));
+        names = list.toArray(new String[list.size()]);
+        defaultCodegen = new DefaultCodegen();
+        javaCodegen = new JavaClientCodegen();
+        uncached = new NamingService(0);
+    }
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(DefaultCodegen.camelize(name));
+        }
+    }
+
+    @Benchmark
+    public void camelizeLowercaseFirstLetter(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(DefaultCodegen.camelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void camelizeUncached(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(uncached.camelize(name, false));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(DefaultCodegen.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public void underscoreUncached(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(uncached.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(defaultCodegen.sanitizeName(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeNameUncached(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(uncached.sanitizeName(name, false));
+        }
+    }
+
+    @Benchmark
+    public void removeNonNameElementToCamelCase(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(defaultCodegen.removeNonNameElementToCamelCase(name));
+        }
+    }
+
+    @Benchmark
+    public void toVarName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(defaultCodegen.toVarName(name));
+        }
+    }
+
+    @Benchmark
+    public void javaToVarName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(javaCodegen.toVarName(name));
+        }
+    }
+
+    @Benchmark
+    public void javaToParamName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(javaCodegen.toParamName(name));
+        }
+    }
+
+    @Benchmark
+    public void javaToModelName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(javaCodegen.toModelName(name));
+        }
+    }
+
+    @Benchmark
+    public void javaToApiName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(javaCodegen.toApiName(name));
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Info;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Scheme;
+import io.swagger.models.Swagger;
+import io.swagger.models.Tag;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.BooleanProperty;
+import io.swagger.models.properties.DateProperty;
+import io.swagger.models.properties.DateTimeProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.LongProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.util.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds specs of arbitrary size, shaped like the large specs generation has to cope with: many definitions
+ * referencing each other, allOf inheritance chains, inline object schemas and CRUD operations spread over tags.
+ * <p>
+ * The spec only depends on its settings, so two specs built with the same settings are equal.
+ */
+public class SyntheticSpec {
+    private static final String[] METHODS = {"get", "post", "put", "delete"};
+
+    private int definitions = 100;
+    private int properties = 10;
+    private int allOfDepth = 2;
+    private int operations = 100;
+    private int tags = 10;
+    private int inlineSchemas = 1;
+
+    /**
+     * @param definitions number of definitions, including the ones created for allOf children
+     * @return this
+     */
+    public SyntheticSpec definitions(int definitions) {
+        this.definitions = definitions;
+        return this;
+    }
+
+    /**
+     * @param properties number of properties of each definition, not counting the inline schemas
+     * @return this
+     */
+    public SyntheticSpec properties(int properties) {
+        this.properties = properties;
+        return this;
+    }
+
+    /**
+     * @param allOfDepth length of the allOf chains, 0 for no inheritance
+     * @return this
+     */
+    public SyntheticSpec allOfDepth(int allOfDepth) {
+        this.allOfDepth = allOfDepth;
+        return this;
+    }
+
+    /**
+     * @param operations number of operations, four per path
+     * @return this
+     */
+    public SyntheticSpec operations(int operations) {
+        this.operations = operations;
+        return this;
+    }
+
+    /**
+     * @param tags number of tags the operations are spread over, i.e. number of api files
+     * @return this
+     */
+    public SyntheticSpec tags(int tags) {
+        this.tags = tags;
+        return this;
+    }
+
+    /**
+     * @param inlineSchemas number of inline object properties of each definition, each of them turned into a
+     *                      model of its own when the spec is flattened
+     * @return this
+     */
+    public SyntheticSpec inlineSchemas(int inlineSchemas) {
+        this.inlineSchemas = inlineSchemas;
+        return this;
+    }
+
+    public Swagger build() {
+        if (definitions < 1 || tags < 1) {
+            throw new IllegalArgumentException("a spec needs at least one definition and one tag");
+        }
+        Swagger swagger = new Swagger()
+                .info(new Info().title("Synthetic API").version("1.0.0")
+                        .description("Generated with " + this))
+                .host("api.example.com")
+                .basePath("/v1")
+                .scheme(Scheme.HTTPS)
+                .consumes("application/json")
+                .produces("application/json");
+        for (int i = 0; i < tags; i++) {
+            swagger.tag(new Tag().name(tagName(i)).description("Operations of group " + i));
+        }
+        for (int i = 0; i < definitions; i++) {
+            swagger.addDefinition(modelName(i), model(i));
+        }
+        for (int i = 0; i < operations; i++) {
+            addOperation(swagger, i);
+        }
+        return swagger;
+    }
+
+    private Model model(int index) {
+        ModelImpl model = new ModelImpl().type(ModelImpl.OBJECT).description("Model number " + index);
+        for (int i = 0; i < properties; i++) {
+            String name = propertyName(index, i);
+            model.property(name, property(index, i));
+            if (i % 3 == 0) {
+                model.required(name);
+            }
+        }
+        for (int i = 0; i < inlineSchemas; i++) {
+            Map<String, Property> inline = new LinkedHashMap<String, Property>();
+            inline.put("id", new LongProperty());
+            inline.put("label", new StringProperty());
+            inline.put("weight", new DoubleProperty());
+            model.property("inline" + i, new ObjectProperty(inline));
+        }
+        if (allOfDepth == 0) {
+            return model;
+        }
+        // each model extends the one before it, up to allOfDepth levels, with a discriminator at the root of
+        // each chain; built the way the parser reads allOf
+        if (index % (allOfDepth + 1) == 0) {
+            model.property("kind", new StringProperty());
+            model.required("kind");
+            model.setDiscriminator("kind");
+            return model;
+        }
+        ComposedModel composed = new ComposedModel()
+                .interfaces(Collections.singletonList(new RefModel(modelName(index - 1))))
+                .child(model);
+        composed.setDescription(model.getDescription());
+        return composed;
+    }
+
+    private Property property(int model, int index) {
+        switch (index % 12) {
+            case 0:
+                return new StringProperty();
+            case 1:
+                return new IntegerProperty();
+            case 2:
+                return new LongProperty();
+            case 3:
+                return new DoubleProperty();
+            case 4:
+                return new BooleanProperty();
+            case 5:
+                return new DateTimeProperty();
+            case 6:
+                return new DateProperty();
+            case 7:
+                return new StringProperty()._enum(Arrays.asList("available", "pending", "sold_out"));
+            case 8:
+                return new ArrayProperty(new StringProperty());
+            case 9:
+                return new RefProperty(modelName((model + index) % definitions));
+            case 10:
+                return new MapProperty(new StringProperty());
+            default:
+                return new ArrayProperty(new RefProperty(modelName((model + index) % definitions)));
+        }
+    }
+
+    private void addOperation(Swagger swagger, int index) {
+        int group = index / METHODS.length;
+        String method = METHODS[index % METHODS.length];
+        String model = modelName(index % definitions);
+        boolean item = "put".equals(method) || "delete".equals(method);
+        String resourcePath = "/group" + group + "/items" + (item ? "/{id}" : "");
+
+        Operation operation = new Operation()
+                .operationId(method + "Group" + group + (item ? "Item" : "Items"))
+                .tag(tagName(group % tags))
+                .summary(method + " items of group " + group)
+                .response(400, new Response().description("Invalid input"));
+        if (item) {
+            operation.parameter(new PathParameter().name("id").type("string").description("item id"));
+        }
+        if ("get".equals(method)) {
+            operation.parameter(new QueryParameter().name("limit").type("integer").format("int32"));
+            operation.parameter(new QueryParameter().name("filter_by").type("string"));
+            operation.response(200, new Response().description("items")
+                    .schema(new ArrayProperty(new RefProperty(model))));
+        } else if (!"delete".equals(method)) {
+            BodyParameter body = new BodyParameter().name("body").schema(new RefModel(model));
+            body.setRequired(true);
+            operation.parameter(body);
+            operation.response(200, new Response().description("item").schema(new RefProperty(model)));
+        } else {
+            operation.response(204, new Response().description("deleted"));
+        }
+
+        Path path = swagger.getPath(resourcePath);
+        if (path == null) {
+            path = new Path();
+            swagger.path(resourcePath, path);
+        }
+        path.set(method, operation);
+    }
+
+    private static String modelName(int index) {
+        return "Model" + index;
+    }
+
+    private static String propertyName(int model, int index) {
+        // mix the naming styles found in real specs
+        switch (index % 3) {
+            case 0:
+                return "field_" + index;
+            case 1:
+                return "field" + index + "Value";
+            default:
+                return "field-" + index + "-of-" + model % 10;
+        }
+    }
+
+    private static String tagName(int index) {
+        return "group" + index;
+    }
+
+    @Override
+    public String toString() {
+        return "definitions=" + definitions + ", properties=" + properties + ", allOfDepth=" + allOfDepth
+                + ", operations=" + operations + ", tags=" + tags + ", inlineSchemas=" + inlineSchemas;
+    }
+
+    /**
+     * Writes a synthetic spec as JSON, e.g. to reproduce a benchmark with the CLI.
+     *
+     * @param args output file, followed by settings as name=value, e.g. definitions=5000
+     * @throws IOException if the spec can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("usage: SyntheticSpec <output file> [definitions=N] [properties=N] "
+                    + "[allOfDepth=N] [operations=N] [tags=N] [inlineSchemas=N]");
+        }
+        SyntheticSpec spec = new SyntheticSpec();
+        for (String arg : Arrays.asList(args).subList(1, args.length)) {
+            String[] setting = arg.split("=", 2);
+            int value = Integer.parseInt(setting[1]);
+            if ("definitions".equals(setting[0])) {
+                spec.definitions(value);
+            } else if ("properties".equals(setting[0])) {
+                spec.properties(value);
+            } else if ("allOfDepth".equals(setting[0])) {
+                spec.allOfDepth(value);
+            } else if ("operations".equals(setting[0])) {
+                spec.operations(value);
+            } else if ("tags".equals(setting[0])) {
+                spec.tags(value);
+            } else if ("inlineSchemas".equals(setting[0])) {
+                spec.inlineSchemas(value);
+            } else {
+                throw new IllegalArgumentException("unknown setting: " + setting[0]);
+            }
+        }
+        Json.pretty().writeValue(new File(args[0]), spec.build());
+    }
+}
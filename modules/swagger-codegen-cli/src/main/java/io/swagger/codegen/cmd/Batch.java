@@ -0,0 +1,199 @@
+package io.swagger.codegen.cmd;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.TemplateCache;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.codegen.config.SpecCache;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.swagger.codegen.config.CodegenConfiguratorUtils.applySystemPropertiesKvpList;
+
+/**
+ * Runs the generations listed in a manifest in one JVM, sharing the parsed specs and the templates.
+ */
+@Command(name = "batch", description = "Generate code for a list of specs and languages in one run")
+public class Batch implements Runnable {
+
+    public static final Logger LOG = LoggerFactory.getLogger(Batch.class);
+
+    @Option(name = {"-i", "--input-manifest"}, title = "manifest file", required = true,
+            description = "JSON or YAML file with a list of generation jobs, each in the format of the "
+                    + "generate -c configuration file, e.g. [{\"inputSpec\": \"swagger.yaml\", \"lang\": \"java\", "
+                    + "\"outputDir\": \"client\"}] (required)")
+    private String manifest;
+
+    @Option(name = {"--threads"}, title = "parallel jobs",
+            description = "number of jobs generated at the same time (the number of processors by default)")
+    private Integer threads;
+
+    @Option(
+            name = {"-D"},
+            title = "system properties",
+            description = "sets specified system properties for all jobs in "
+                    + "the format of name=value,name=value (or multiple options, each with name=value)")
+    private List<String> systemProperties = new ArrayList<>();
+
+    @Option(name = {"-r", "--report"}, title = "report file",
+            description = "where to write the results of all jobs as JSON")
+    private String report;
+
+    @Override
+    public void run() {
+        final List<CodegenConfigurator> jobs = readManifest(manifest);
+
+        // system properties are global to the JVM, so they can only be set for the whole batch
+        CodegenConfigurator defaults = new CodegenConfigurator();
+        applySystemPropertiesKvpList(systemProperties, defaults);
+        for (Map.Entry<String, String> entry : defaults.getSystemProperties().entrySet()) {
+            System.setProperty(entry.getKey(), entry.getValue());
+        }
+
+        int poolSize = threads != null ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(poolSize, jobs.size())));
+        final SpecCache specCache = new SpecCache();
+        List<Future<JobResult>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < jobs.size(); i++) {
+                final int index = i;
+                futures.add(executor.submit(new Callable<JobResult>() {
+                    @Override
+                    public JobResult call() {
+                        return generate(index, jobs.get(index), specCache);
+                    }
+                }));
+            }
+
+            List<JobResult> results = new ArrayList<>();
+            for (Future<JobResult> future : futures) {
+                results.add(future.get());
+            }
+            report(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<CodegenConfigurator> readManifest(String manifest) {
+        ObjectMapper mapper = manifest.endsWith(".yaml") || manifest.endsWith(".yml") ? Yaml.mapper() : Json.mapper();
+        try {
+            return mapper.readValue(new File(manifest), new TypeReference<List<CodegenConfigurator>>() {
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read batch manifest " + manifest, e);
+        }
+    }
+
+    private static JobResult generate(int index, CodegenConfigurator configurator, SpecCache specCache) {
+        JobResult result = new JobResult(index, configurator);
+        long start = System.nanoTime();
+        try {
+            if (!configurator.getSystemProperties().isEmpty()) {
+                throw new IllegalArgumentException("system properties can only be set for the whole batch (-D)");
+            }
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.setTemplateCache(TemplateCache.shared());
+            result.files = generator.opts(configurator.toClientOptInput(specCache)).generate().size();
+        } catch (Exception e) {
+            LOG.error("Job " + index + " (" + configurator.getLang() + ", " + configurator.getInputSpec()
+                    + ") failed", e);
+            result.error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        }
+        result.millis = (System.nanoTime() - start) / 1000000;
+        return result;
+    }
+
+    private void report(List<JobResult> results) {
+        int failed = 0;
+        List<Map<String, Object>> entries = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-4s %-7s %-24s %6s %8s  %s%n", "job", "status", "language", "files", "time",
+                "output"));
+        for (JobResult result : results) {
+            if (result.error != null) {
+                failed++;
+            }
+            sb.append(String.format("%-4d %-7s %-24s %6d %6dms  %s%n", result.index, result.status(), result.lang,
+                    result.files, result.millis, result.outputDir));
+            if (result.error != null) {
+                // e.g. the list of all languages for an unknown one
+                String error = result.error.trim();
+                int end = error.indexOf('\n');
+                sb.append("     ").append(end < 0 ? error : error.substring(0, end)).append(System.lineSeparator());
+            }
+            entries.add(result.toMap());
+        }
+        sb.append(String.format("%d jobs, %d failed%n", results.size(), failed));
+        System.out.print(sb);
+
+        if (report != null) {
+            try {
+                Json.pretty().writeValue(new File(report), entries);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to write batch report " + report, e);
+            }
+        }
+        if (failed > 0) {
+            throw new RuntimeException(failed + " of " + results.size() + " batch jobs failed");
+        }
+    }
+
+    private static class JobResult {
+        private final int index;
+        private final String lang;
+        private final String inputSpec;
+        private final String outputDir;
+        private int files;
+        private long millis;
+        private String error;
+
+        JobResult(int index, CodegenConfigurator configurator) {
+            this.index = index;
+            this.lang = configurator.getLang();
+            this.inputSpec = configurator.getInputSpec();
+            this.outputDir = configurator.getOutputDir();
+        }
+
+        String status() {
+            return error == null ? "OK" : "FAILED";
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("job", index);
+            map.put("status", status());
+            map.put("lang", lang);
+            map.put("inputSpec", inputSpec);
+            map.put("outputDir", outputDir);
+            map.put("files", files);
+            map.put("millis", millis);
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+}
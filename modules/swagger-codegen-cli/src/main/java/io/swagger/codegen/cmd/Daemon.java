@@ -0,0 +1,225 @@
+package io.swagger.codegen.cmd;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationListener;
+import io.swagger.codegen.GenerationMetrics;
+import io.swagger.codegen.Generator;
+import io.swagger.codegen.ParallelGenerator;
+import io.swagger.codegen.TemplateCache;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.codegen.config.SpecCache;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Keeps a warm JVM generating code for {@code generate --daemon-port}, with the specs read and the templates
+ * compiled by earlier requests.
+ * <p>
+ * Requests are handled one at a time, each with the system properties of its own configuration. Clients have
+ * {@link #REQUEST_TIMEOUT_MILLIS} to send their request. Generations
+ * with a template directory compile its templates again, so that changes made between requests are used.
+ * <p>
+ * Only requests carrying the token written at startup to {@link DaemonClient#tokenFile(int)}, which only the
+ * user running the daemon can read, are handled.
+ */
+@Command(name = "daemon", description = "Keep a JVM running which generates code for generate --daemon-port")
+public class Daemon implements Runnable {
+
+    public static final Logger LOG = LoggerFactory.getLogger(Daemon.class);
+
+    public static final int DEFAULT_PORT = 8642;
+
+    /**
+     * Time a client has to send its token and request, so that a connection which sends nothing does not block
+     * the requests queued behind it.
+     */
+    static final int REQUEST_TIMEOUT_MILLIS = 5000;
+
+    @Option(name = {"-p", "--port"}, title = "port",
+            description = "loopback port to listen on (" + DEFAULT_PORT + " by default)")
+    private Integer port;
+
+    @Option(name = {"--stop"}, description = "stop the daemon listening on the port")
+    private Boolean stop;
+
+    private final SpecCache specCache = new SpecCache();
+
+    private String token;
+
+    @Override
+    public void run() {
+        int listenPort = port != null ? port : DEFAULT_PORT;
+        if (Boolean.TRUE.equals(stop)) {
+            if (!DaemonClient.stop(listenPort)) {
+                LOG.warn("No daemon is listening on port " + listenPort);
+            }
+            return;
+        }
+
+        File tokenFile = DaemonClient.tokenFile(listenPort);
+        try (ServerSocket server = new ServerSocket(listenPort, 50, InetAddress.getLoopbackAddress())) {
+            token = writeToken(tokenFile);
+            LOG.info("Listening on port " + listenPort);
+            boolean running = true;
+            while (running) {
+                try (Socket socket = server.accept()) {
+                    running = handle(socket);
+                } catch (SocketTimeoutException e) {
+                    LOG.warn("Closed a connection which sent no request within " + REQUEST_TIMEOUT_MILLIS + "ms");
+                } catch (IOException e) {
+                    LOG.warn("Unable to answer a request", e);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to listen on port " + listenPort, e);
+        } finally {
+            if (token != null && !tokenFile.delete()) {
+                LOG.warn("Unable to delete " + tokenFile);
+            }
+        }
+        LOG.info("Stopped");
+    }
+
+    /**
+     * @return false if the daemon was asked to stop
+     */
+    private boolean handle(Socket socket) throws IOException {
+        socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        final PrintWriter writer = new PrintWriter(
+                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+
+        String request = reader.readLine();
+        if (request == null) {
+            return true;
+        }
+        if (!isAuthorized(request)) {
+            LOG.warn("Rejected a request without the daemon token");
+            writer.println(DaemonClient.ERROR + " unauthorized");
+            return true;
+        }
+        request = reader.readLine();
+        if (request == null) {
+            return true;
+        }
+        if (DaemonClient.STOP.equals(request)) {
+            writer.println(DaemonClient.OK + " 0");
+            return false;
+        }
+        if (!request.startsWith(DaemonClient.GENERATE + " ")) {
+            writer.println(DaemonClient.ERROR + " unknown request");
+            return true;
+        }
+
+        Properties systemProperties = (Properties) System.getProperties().clone();
+        String result;
+        try {
+            final CodegenConfigurator configurator = Json.mapper().readValue(
+                    request.substring(DaemonClient.GENERATE.length() + 1), CodegenConfigurator.class);
+            LOG.info("Generating " + configurator.getLang() + " from " + configurator.getInputSpec() + " into "
+                    + configurator.getOutputDir() + (configurator.getTargets().isEmpty()
+                    ? "" : " and " + configurator.getTargets()));
+
+            TemplateCache templateCache = isNotEmpty(configurator.getTemplateDir())
+                    ? new TemplateCache() : TemplateCache.shared();
+            List<Generator> generators = new ArrayList<>();
+            for (ClientOptInput input : configurator.toClientOptInputs(specCache)) {
+                final String name = input.getConfig().getName();
+                DefaultGenerator generator = new DefaultGenerator();
+                generator.setTemplateCache(templateCache);
+                generator.addListener(new GenerationListener() {
+                    @Override
+                    public void phaseCompleted(String phase, long nanos) {
+                        writer.println(DaemonClient.LOG_LINE + " " + name + ": " + phase + " completed in "
+                                + nanos / 1000000 + "ms");
+                    }
+
+                    @Override
+                    public void generationCompleted(GenerationMetrics metrics) {
+                        if (configurator.isTimings()) {
+                            for (String line : metrics.summary().split("\\r?\\n")) {
+                                writer.println(DaemonClient.OUT + " " + line);
+                            }
+                        }
+                    }
+                });
+                generators.add(generator.opts(input));
+            }
+            List<File> files = ParallelGenerator.generate(generators);
+            result = DaemonClient.OK + " " + files.size();
+        } catch (Exception e) {
+            LOG.error("Generation failed", e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            result = DaemonClient.ERROR + " " + message.replaceAll("\\s+", " ");
+        } finally {
+            System.setProperties(systemProperties);
+        }
+        // only answered once the system properties are restored
+        writer.println(result);
+        return true;
+    }
+
+    private boolean isAuthorized(String line) {
+        String prefix = DaemonClient.TOKEN + " ";
+        return line.startsWith(prefix) && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                line.substring(prefix.length()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a new random token to a file only the current user can read or write.
+     *
+     * @return the token
+     */
+    private static String writeToken(File tokenFile) throws IOException {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : bytes) {
+            token.append(String.format("%02x", b));
+        }
+
+        Path path = tokenFile.toPath();
+        Files.createDirectories(path.getParent());
+        Files.deleteIfExists(path);
+        if (Files.getFileAttributeView(path.getParent(), PosixFileAttributeView.class) != null) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(path);
+            File file = path.toFile();
+            file.setReadable(false, false);
+            file.setWritable(false, false);
+            file.setReadable(true, true);
+            file.setWritable(true, true);
+        }
+        Files.write(path, token.toString().getBytes(StandardCharsets.UTF_8));
+        return token.toString();
+    }
+}
@@ -0,0 +1,148 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Forwards generations to a {@link Daemon} listening on a loopback port.
+ * <p>
+ * The protocol is line based: the client sends {@code token <token>}, then {@code generate <configurator as JSON>}
+ * or {@code stop}. The daemon answers with {@code log <message>} and {@code out <text>} lines while it works, and
+ * ends with {@code ok <number of files>} or {@code error <message>}.
+ * <p>
+ * The token is created by the daemon when it starts, in a file only the user running it can read (see
+ * {@link #tokenFile(int)}), so that other users of the machine can't have code generated on their behalf.
+ */
+public class DaemonClient {
+
+    public static final Logger LOG = LoggerFactory.getLogger(DaemonClient.class);
+
+    static final String TOKEN = "token";
+    static final String GENERATE = "generate";
+    static final String STOP = "stop";
+    static final String LOG_LINE = "log";
+    static final String OUT = "out";
+    static final String OK = "ok";
+    static final String ERROR = "error";
+
+    /**
+     * Generates in the daemon listening on the port. The paths of the configurator are made absolute first,
+     * as the daemon may run in another directory (output and template directories already are).
+     *
+     * @param port         port of the daemon
+     * @param configurator generation to run
+     * @return false if no daemon listens on the port
+     */
+    public static boolean generate(int port, CodegenConfigurator configurator) {
+        if (isNotEmpty(configurator.getIgnoreFileOverride())) {
+            configurator.setIgnoreFileOverride(absolutePath(configurator.getIgnoreFileOverride()));
+        }
+        if (isNotEmpty(configurator.getInputSpec()) && new File(configurator.getInputSpec()).exists()) {
+            configurator.setInputSpec(absolutePath(configurator.getInputSpec()));
+        }
+
+        String request;
+        try {
+            request = GENERATE + " " + Json.mapper().writeValueAsString(configurator);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to send the configuration to the daemon", e);
+        }
+        return send(port, request);
+    }
+
+    /**
+     * Asks the daemon listening on the port to stop.
+     *
+     * @param port port of the daemon
+     * @return false if no daemon listens on the port
+     */
+    public static boolean stop(int port) {
+        return send(port, STOP);
+    }
+
+    /**
+     * @param port port of the daemon
+     * @return the file holding the token of the daemon listening on the port
+     */
+    static File tokenFile(int port) {
+        return new File(System.getProperty("user.home"), ".swagger-codegen" + File.separator + "daemon-" + port
+                + ".token");
+    }
+
+    private static boolean send(int port, String request) {
+        File tokenFile = tokenFile(port);
+        if (!tokenFile.isFile()) {
+            // no daemon of this user listens on the port
+            return false;
+        }
+        String token;
+        try {
+            token = new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read the daemon token " + tokenFile, e);
+        }
+
+        Socket socket;
+        try {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        } catch (ConnectException e) {
+            return false;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to connect to the daemon on port " + port, e);
+        }
+
+        try {
+            PrintWriter writer = new PrintWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            writer.println(TOKEN + " " + token);
+            writer.println(request);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                String kind = space < 0 ? line : line.substring(0, space);
+                String value = space < 0 ? "" : line.substring(space + 1);
+                if (LOG_LINE.equals(kind)) {
+                    LOG.info(value);
+                } else if (OUT.equals(kind)) {
+                    System.out.println(value);
+                } else if (OK.equals(kind)) {
+                    return true;
+                } else if (ERROR.equals(kind)) {
+                    throw new RuntimeException("Generation in the daemon failed: " + value);
+                }
+            }
+            throw new RuntimeException("The daemon closed the connection without a result");
+        } catch (IOException e) {
+            throw new RuntimeException("Lost the connection to the daemon on port " + port, e);
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // nothing left to read
+            }
+        }
+    }
+
+    private static String absolutePath(String path) {
+        return new File(path).getAbsolutePath();
+    }
+}
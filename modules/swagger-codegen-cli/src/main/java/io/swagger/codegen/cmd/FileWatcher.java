@@ -0,0 +1,148 @@
+package io.swagger.codegen.cmd;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Waits for changes of a set of files and of everything below a set of directories.
+ * <p>
+ * The directories are registered as files are added and stay registered until the watcher is closed, so that
+ * changes made while the caller is busy, e.g. generating, are reported by the next {@link #awaitChanges(long)}.
+ */
+class FileWatcher implements Closeable {
+    private final WatchService service;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Set<Path> files = new HashSet<>();
+    private final Set<Path> trees = new HashSet<>();
+
+    FileWatcher() throws IOException {
+        service = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Adds files and directories to watch. Those already watched are left as they are.
+     */
+    void watch(Set<File> files, Set<File> trees) throws IOException {
+        for (File file : files) {
+            Path path = file.toPath().toAbsolutePath().normalize();
+            Path parent = path.getParent();
+            if (this.files.add(path) && parent != null && Files.isDirectory(parent)
+                    && !directories.containsValue(parent)) {
+                directories.put(register(service, parent), parent);
+            }
+        }
+        for (File tree : trees) {
+            Path path = tree.toPath().toAbsolutePath().normalize();
+            if (this.trees.add(path)) {
+                registerTree(service, path, directories);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return files.isEmpty() && trees.isEmpty();
+    }
+
+    int getFileCount() {
+        return files.size();
+    }
+
+    int getTreeCount() {
+        return trees.size();
+    }
+
+    /**
+     * Blocks until a watched file changed, then until no further change happened for the quiet period, so that
+     * an editor saving several files (or one file in several steps) causes a single generation. Changes made since
+     * the previous call are reported at once.
+     *
+     * @param quietMillis time without changes ending the wait
+     * @return the changed files
+     */
+    Set<Path> awaitChanges(long quietMillis) throws InterruptedException, IOException {
+        Set<Path> changed = new LinkedHashSet<>();
+        WatchKey key = service.take();
+        while (key != null) {
+            Path directory = directories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (directory == null) {
+                    continue;
+                }
+                if (event.kind() == OVERFLOW) {
+                    changed.add(directory);
+                    continue;
+                }
+                Path path = directory.resolve((Path) event.context());
+                if (files.contains(path)) {
+                    changed.add(path);
+                } else if (isInTree(path)) {
+                    changed.add(path);
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                        registerTree(service, path, directories);
+                    }
+                }
+            }
+            if (!key.reset()) {
+                directories.remove(key);
+            }
+            key = changed.isEmpty() ? service.take() : service.poll(quietMillis, TimeUnit.MILLISECONDS);
+        }
+        return changed;
+    }
+
+    /**
+     * @return true if the path is below one of the watched directories
+     */
+    boolean isInTree(Path path) {
+        for (Path tree : trees) {
+            if (path.startsWith(tree)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+
+    private static WatchKey register(WatchService service, Path directory) throws IOException {
+        return directory.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+    }
+
+    private static void registerTree(final WatchService service, Path tree, final Map<WatchKey, Path> directories)
+            throws IOException {
+        if (!Files.isDirectory(tree)) {
+            return;
+        }
+        Files.walkFileTree(tree, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                directories.put(register(service, dir), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -5,15 +5,27 @@ import io.airlift.airline.Option;
 import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationListener;
+import io.swagger.codegen.GenerationMetrics;
+import io.swagger.codegen.Generator;
+import io.swagger.codegen.ParallelGenerator;
+import io.swagger.codegen.TemplateCache;
 import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.codegen.config.SpecCache;
+import io.swagger.codegen.utils.SpecFiles;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static io.swagger.codegen.config.CodegenConfiguratorUtils.*;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * User: lanwen Date: 24.03.15 Time: 20:22
@@ -24,6 +36,8 @@ public class Generate implements Runnable {
 
     public static final Logger LOG = LoggerFactory.getLogger(Generate.class);
 
+    private static final long WATCH_QUIET_MILLIS = 300;
+
     @Option(name = {"-v", "--verbose"}, description = "verbose mode")
     private Boolean verbose;
 
@@ -91,6 +105,7 @@ public class Generate implements Runnable {
             title = "instantiation types",
             description = "sets instantiation type mappings in the format of type=instantiatedType,type=instantiatedType."
                     + "For example (in Java): array=ArrayList,map=HashMap. In other words array types will get instantiated as ArrayList in generated code."
+                    + " The library (--library) and templates (-t) are only used for the main language."
                     + " You can also have multiple occurrences of this option.")
     private List<String> instantiationTypes = new ArrayList<>();
 
@@ -172,9 +187,72 @@ public class Generate implements Runnable {
             description = CodegenConstants.REMOVE_OPERATION_ID_PREFIX_DESC)
     private Boolean removeOperationIdPrefix;
 
+    @Option(name = {"--workers"}, title = "render workers",
+            description = CodegenConstants.WORKERS_DESC)
+    private Integer workers;
+
+    @Option(name = {"--incremental"}, title = "incremental generation",
+            description = CodegenConstants.INCREMENTAL_DESC)
+    private Boolean incremental;
+
+    @Option(name = {"--timings"}, title = "print timings",
+            description = CodegenConstants.TIMINGS_DESC)
+    private Boolean timings;
+
+    @Option(name = {"--merge-inline-models"}, title = "merge similar inline models",
+            description = CodegenConstants.MERGE_INLINE_MODELS_DESC)
+    private Boolean mergeInlineModels;
+
+    @Option(name = {"--streaming"}, title = "streaming generation",
+            description = CodegenConstants.STREAMING_DESC)
+    private Boolean streaming;
+
+    @Option(name = {"--spec-cache-dir"}, title = "spec cache directory",
+            description = CodegenConstants.SPEC_CACHE_DIR_DESC)
+    private String specCacheDir;
+
+    @Option(
+            name = {"--targets"},
+            title = "targets",
+            description = "generates more languages from the same spec and options in parallel, in the format of "
+                    + "language=outputDir,language=outputDir. For example: spring=server,typescript-angular=ui."
+                    + " You can also have multiple occurrences of this option.")
+    private List<String> targets = new ArrayList<>();
+
+    @Option(name = {"--daemon-port"}, title = "daemon port",
+            description = "generate in the daemon listening on this port (see the daemon command), "
+                    + "or in this process if there is none")
+    private Integer daemonPort;
+
+    @Option(name = {"--watch"}, title = "watch",
+            description = "keep running and generate again whenever the spec, the local files it refers to, "
+                    + "the template directory or the configuration file change")
+    private Boolean watch;
+
     @Override
     public void run() {
+        if (Boolean.TRUE.equals(watch)) {
+            watch();
+            return;
+        }
+
+        CodegenConfigurator configurator = configure();
+
+        if (daemonPort != null) {
+            if (DaemonClient.generate(daemonPort, configurator)) {
+                return;
+            }
+            LOG.warn("No daemon is listening on port " + daemonPort + ", generating in this process");
+        }
 
+        if (targets.isEmpty()) {
+            generate(configurator.toClientOptInput(), new DefaultGenerator());
+        } else {
+            generate(configurator.toClientOptInputs(null), null);
+        }
+    }
+
+    private CodegenConfigurator configure() {
         // attempt to read from config file
         CodegenConfigurator configurator = CodegenConfigurator.fromFile(configFile);
 
@@ -273,6 +351,30 @@ public class Generate implements Runnable {
             configurator.setRemoveOperationIdPrefix(removeOperationIdPrefix);
         }
 
+        if (workers != null) {
+            configurator.setWorkers(workers);
+        }
+
+        if (incremental != null) {
+            configurator.setIncremental(incremental);
+        }
+
+        if (timings != null) {
+            configurator.setTimings(timings);
+        }
+
+        if (mergeInlineModels != null) {
+            configurator.setMergeInlineModels(mergeInlineModels);
+        }
+
+        if (streaming != null) {
+            configurator.setStreaming(streaming);
+        }
+
+        if (isNotEmpty(specCacheDir)) {
+            configurator.setSpecCacheDir(specCacheDir);
+        }
+
         applySystemPropertiesKvpList(systemProperties, configurator);
         applyInstantiationTypesKvpList(instantiationTypes, configurator);
         applyImportMappingsKvpList(importMappings, configurator);
@@ -280,8 +382,104 @@ public class Generate implements Runnable {
         applyAdditionalPropertiesKvpList(additionalProperties, configurator);
         applyLanguageSpecificPrimitivesCsvList(languageSpecificPrimitives, configurator);
         applyReservedWordsMappingsKvpList(reservedWordsMappings, configurator);
-        final ClientOptInput clientOptInput = configurator.toClientOptInput();
+        applyTargetsKvpList(targets, configurator);
+        return configurator;
+    }
+
+    private void generate(ClientOptInput clientOptInput, DefaultGenerator generator) {
+        addTimingsListener(generator, "");
+        generator.opts(clientOptInput).generate();
+    }
+
+    /**
+     * Generates the inputs of several targets in parallel.
+     *
+     * @param templateCache template sources shared by the targets, or null
+     */
+    private void generate(List<ClientOptInput> clientOptInputs, TemplateCache templateCache) {
+        List<Generator> generators = new ArrayList<>();
+        for (ClientOptInput clientOptInput : clientOptInputs) {
+            DefaultGenerator generator = new DefaultGenerator();
+            if (templateCache != null) {
+                generator.setTemplateCache(templateCache);
+            }
+            addTimingsListener(generator, clientOptInputs.size() == 1 ? "" : clientOptInput.getConfig().getName()
+                    + " (" + clientOptInput.getConfig().getOutputDir() + ")" + System.lineSeparator());
+            generators.add(generator.opts(clientOptInput));
+        }
+        ParallelGenerator.generate(generators);
+    }
 
-        new DefaultGenerator().opts(clientOptInput).generate();
+    private void addTimingsListener(DefaultGenerator generator, final String title) {
+        if (Boolean.TRUE.equals(timings)) {
+            generator.addListener(new GenerationListener() {
+                @Override
+                public void phaseCompleted(String phase, long nanos) {
+                    // reported with all other phases once generation completed
+                }
+
+                @Override
+                public void generationCompleted(GenerationMetrics metrics) {
+                    System.out.print(title + metrics.summary());
+                }
+            });
+        }
+    }
+
+    /**
+     * Generates, then again after every change of the inputs. The spec documents and the template sources are
+     * kept between generations, unless the template directory changed. The inputs are watched from before the
+     * first generation on, so that changes saved while generating cause another one.
+     */
+    private void watch() {
+        SpecCache specCache = new SpecCache();
+        TemplateCache templateCache = new TemplateCache();
+        try (FileWatcher watcher = new FileWatcher()) {
+            while (true) {
+                Set<File> files = new LinkedHashSet<>();
+                Set<File> trees = new LinkedHashSet<>();
+                if (isNotEmpty(configFile)) {
+                    files.add(new File(configFile));
+                }
+                if (isNotEmpty(spec)) {
+                    files.addAll(SpecFiles.collect(spec));
+                }
+                if (isNotEmpty(templateDir)) {
+                    trees.add(new File(templateDir));
+                }
+                watcher.watch(files, trees);
+
+                try {
+                    CodegenConfigurator configurator = configure();
+                    files.addAll(SpecFiles.collect(configurator.getInputSpec()));
+                    if (isNotEmpty(configurator.getTemplateDir())) {
+                        trees.add(new File(configurator.getTemplateDir()));
+                    }
+                    watcher.watch(files, trees);
+                    generate(configurator.toClientOptInputs(specCache), templateCache);
+                } catch (RuntimeException e) {
+                    LOG.error("Generation failed", e);
+                }
+
+                if (watcher.isEmpty()) {
+                    LOG.warn("Nothing to watch, the spec is not a local file");
+                    return;
+                }
+                LOG.info("Watching " + watcher.getFileCount() + " files and " + watcher.getTreeCount()
+                        + " template directories for changes");
+                Set<Path> changed = watcher.awaitChanges(WATCH_QUIET_MILLIS);
+                for (Path path : changed) {
+                    if (watcher.isInTree(path)) {
+                        templateCache.clear();
+                        break;
+                    }
+                }
+                LOG.info("Changed: " + changed + ", generating again");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to watch the inputs for changes", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
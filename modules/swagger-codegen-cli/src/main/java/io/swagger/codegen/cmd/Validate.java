@@ -3,9 +3,12 @@ package io.swagger.codegen.cmd;
 import io.airlift.airline.Command;
 import io.airlift.airline.Option;
 
+import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.config.SpecDiskCache;
 import io.swagger.parser.SwaggerParser;
 import io.swagger.parser.util.SwaggerDeserializationResult;
 
+import java.io.File;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -17,12 +20,20 @@ public class Validate implements Runnable {
             description = "location of the swagger spec, as URL or file (required)")
     private String spec;
 
+    @Option(name = {"--spec-cache-dir"}, title = "spec cache directory",
+            description = CodegenConstants.SPEC_CACHE_DIR_DESC)
+    private String specCacheDir;
+
     @Override
     public void run() {
         System.out.println("Validating spec file (" + spec + ")");
 
-        SwaggerParser parser = new SwaggerParser();
-        SwaggerDeserializationResult result = parser.readWithInfo(spec, null, true);
+        SwaggerDeserializationResult result;
+        if (specCacheDir != null) {
+            result = new SpecDiskCache(new File(specCacheDir)).readWithInfo(spec, null);
+        } else {
+            result = new SwaggerParser().readWithInfo(spec, null, true);
+        }
         List<String> messageList = result.getMessages();
         Set<String> messages = new HashSet<String>(messageList);
 
@@ -0,0 +1,149 @@
+package io.swagger.codegen.cmd;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.codegen.SwaggerCodegen;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class BatchTest {
+
+    private static final String SPEC = "swagger: '2.0'\n"
+            + "info:\n"
+            + "  title: Pets\n"
+            + "  version: 1.0.0\n"
+            + "paths:\n"
+            + "  /pets:\n"
+            + "    get:\n"
+            + "      operationId: listPets\n"
+            + "      responses:\n"
+            + "        200:\n"
+            + "          description: the pets\n"
+            + "          schema:\n"
+            + "            type: array\n"
+            + "            items:\n"
+            + "              $ref: '#/definitions/Pet'\n"
+            + "definitions:\n"
+            + "  Pet:\n"
+            + "    properties:\n"
+            + "      name:\n"
+            + "        type: string\n";
+
+    private File dir;
+    private File spec;
+
+    @BeforeMethod
+    public void createDir() throws Exception {
+        dir = Files.createTempDirectory("batch").toFile();
+        spec = new File(dir, "swagger.yaml");
+        FileUtils.writeStringToFile(spec, SPEC, "UTF-8");
+    }
+
+    @AfterMethod
+    public void deleteDir() throws Exception {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testYamlManifest() throws Exception {
+        File manifest = new File(dir, "batch.yaml");
+        FileUtils.writeStringToFile(manifest, "- inputSpec: " + spec.getAbsolutePath() + "\n"
+                + "  lang: html\n"
+                + "  outputDir: " + new File(dir, "html").getAbsolutePath() + "\n"
+                + "- inputSpec: " + spec.getAbsolutePath() + "\n"
+                + "  lang: java\n"
+                + "  outputDir: " + new File(dir, "java").getAbsolutePath() + "\n"
+                + "  additionalProperties:\n"
+                + "    modelPackage: org.pets.model\n", "UTF-8");
+
+        JsonNode report = runBatch(manifest);
+
+        assertEquals(report.size(), 2);
+        assertJob(report.get(0), "OK", "html");
+        assertJob(report.get(1), "OK", "java");
+        assertTrue(new File(dir, "html/index.html").isFile());
+        assertTrue(new File(dir, "java/src/main/java/org/pets/model/Pet.java").isFile());
+    }
+
+    @Test
+    public void testJsonManifest() throws Exception {
+        File manifest = new File(dir, "batch.json");
+        FileUtils.writeStringToFile(manifest, "[{\"inputSpec\": " + Json.mapper().writeValueAsString(spec.getAbsolutePath())
+                + ", \"lang\": \"html\", \"outputDir\": "
+                + Json.mapper().writeValueAsString(new File(dir, "html").getAbsolutePath()) + "}]", "UTF-8");
+
+        JsonNode report = runBatch(manifest);
+
+        assertEquals(report.size(), 1);
+        assertJob(report.get(0), "OK", "html");
+        assertTrue(report.get(0).get("files").asInt() > 0);
+        assertTrue(new File(dir, "html/index.html").isFile());
+    }
+
+    @Test
+    public void testSystemPropertiesOnlyForWholeBatch() throws Exception {
+        File manifest = new File(dir, "batch.yaml");
+        FileUtils.writeStringToFile(manifest, "- inputSpec: " + spec.getAbsolutePath() + "\n"
+                + "  lang: html\n"
+                + "  outputDir: " + new File(dir, "html").getAbsolutePath() + "\n"
+                + "  systemProperties:\n"
+                + "    models: ''\n", "UTF-8");
+
+        JsonNode report = runFailingBatch(manifest, "1 of 1 batch jobs failed");
+
+        assertJob(report.get(0), "FAILED", "html");
+        assertEquals(report.get(0).get("error").asText(),
+                "system properties can only be set for the whole batch (-D)");
+        assertFalse(new File(dir, "html").exists());
+    }
+
+    @Test
+    public void testFailingJobFailsBatchAfterOtherJobs() throws Exception {
+        File manifest = new File(dir, "batch.yaml");
+        FileUtils.writeStringToFile(manifest, "- inputSpec: " + spec.getAbsolutePath() + "\n"
+                + "  lang: no-such-language\n"
+                + "  outputDir: " + new File(dir, "unknown").getAbsolutePath() + "\n"
+                + "- inputSpec: " + spec.getAbsolutePath() + "\n"
+                + "  lang: html\n"
+                + "  outputDir: " + new File(dir, "html").getAbsolutePath() + "\n", "UTF-8");
+
+        JsonNode report = runFailingBatch(manifest, "1 of 2 batch jobs failed");
+
+        assertJob(report.get(0), "FAILED", "no-such-language");
+        assertJob(report.get(1), "OK", "html");
+        assertTrue(new File(dir, "html/index.html").isFile());
+    }
+
+    private JsonNode runBatch(File manifest) throws Exception {
+        File report = new File(dir, "report.json");
+        SwaggerCodegen.main(new String[]{"batch", "-i", manifest.getAbsolutePath(), "-r", report.getAbsolutePath(),
+                "--threads", "2"});
+        return Json.mapper().readTree(report);
+    }
+
+    private JsonNode runFailingBatch(File manifest, String message) throws Exception {
+        try {
+            runBatch(manifest);
+            fail("Expected the batch to fail");
+        } catch (RuntimeException e) {
+            assertEquals(e.getMessage(), message);
+        }
+        // the report is written before the batch fails
+        return Json.mapper().readTree(new File(dir, "report.json"));
+    }
+
+    private static void assertJob(JsonNode job, String status, String lang) {
+        assertEquals(job.get("status").asText(), status);
+        assertEquals(job.get("lang").asText(), lang);
+    }
+}
@@ -0,0 +1,181 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.SwaggerCodegen;
+import io.swagger.codegen.config.CodegenConfigurator;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class DaemonTest {
+
+    private static final String SPEC = "swagger: '2.0'\n"
+            + "info:\n"
+            + "  title: Pets\n"
+            + "  version: 1.0.0\n"
+            + "paths:\n"
+            + "  /pets:\n"
+            + "    get:\n"
+            + "      operationId: listPets\n"
+            + "      responses:\n"
+            + "        200:\n"
+            + "          description: the pets\n"
+            + "          schema:\n"
+            + "            type: array\n"
+            + "            items:\n"
+            + "              $ref: '#/definitions/Pet'\n"
+            + "definitions:\n"
+            + "  Pet:\n"
+            + "    properties:\n"
+            + "      name:\n"
+            + "        type: string\n";
+
+    private File dir;
+    private File spec;
+    private String userHome;
+    private int port;
+    private Thread daemon;
+
+    @BeforeMethod
+    public void startDaemon() throws Exception {
+        dir = Files.createTempDirectory("daemon").toFile();
+        spec = new File(dir, "swagger.yaml");
+        FileUtils.writeStringToFile(spec, SPEC, "UTF-8");
+        // keeps the token file out of the home directory of the user running the tests
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", dir.getAbsolutePath());
+
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+        daemon = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                SwaggerCodegen.main(new String[]{"daemon", "-p", String.valueOf(port)});
+            }
+        });
+        daemon.start();
+        for (int i = 0; i < 500 && !DaemonClient.tokenFile(port).isFile(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(DaemonClient.tokenFile(port).isFile());
+    }
+
+    @AfterMethod
+    public void stopDaemon() throws Exception {
+        try {
+            if (daemon.isAlive()) {
+                DaemonClient.stop(port);
+                daemon.join(10000);
+            }
+        } finally {
+            System.setProperty("user.home", userHome);
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testRequestWithoutTokenIsRejected() throws Exception {
+        assertEquals(send("generate {}"), "error unauthorized");
+    }
+
+    @Test
+    public void testRequestWithWrongTokenIsRejected() throws Exception {
+        assertEquals(send("token 0123456789abcdef", "generate {}"), "error unauthorized");
+    }
+
+    @Test
+    public void testGenerate() throws Exception {
+        File output = new File(dir, "html");
+        assertTrue(DaemonClient.generate(port, configurator("html", output)));
+        assertTrue(new File(output, "index.html").isFile());
+    }
+
+    @Test
+    public void testFailureIsReported() throws Exception {
+        try {
+            DaemonClient.generate(port, configurator("no-such-language", new File(dir, "unknown")));
+            fail("Expected the generation to fail");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().startsWith("Generation in the daemon failed: "), e.getMessage());
+        }
+        // the daemon still answers
+        assertTrue(DaemonClient.generate(port, configurator("html", new File(dir, "html"))));
+    }
+
+    @Test
+    public void testSystemPropertiesDoNotLeakIntoLaterRequests() throws Exception {
+        File modelsOnly = new File(dir, "models-only");
+        CodegenConfigurator configurator = configurator("java", modelsOnly);
+        configurator.addSystemProperty("models", "");
+        assertTrue(DaemonClient.generate(port, configurator));
+        assertNull(System.getProperty("models"));
+
+        File everything = new File(dir, "everything");
+        assertTrue(DaemonClient.generate(port, configurator("java", everything)));
+
+        assertTrue(new File(modelsOnly, "src/main/java/io/swagger/client/model/Pet.java").isFile());
+        assertFalse(new File(modelsOnly, "src/main/java/io/swagger/client/api/DefaultApi.java").exists());
+        assertTrue(new File(everything, "src/main/java/io/swagger/client/model/Pet.java").isFile());
+        assertTrue(new File(everything, "src/main/java/io/swagger/client/api/DefaultApi.java").isFile());
+    }
+
+    @Test
+    public void testSilentConnectionDoesNotBlockOtherRequests() throws Exception {
+        try (Socket silent = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            assertTrue(DaemonClient.generate(port, configurator("html", new File(dir, "html"))));
+        }
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        assertTrue(DaemonClient.stop(port));
+        daemon.join(10000);
+
+        assertFalse(daemon.isAlive());
+        assertFalse(DaemonClient.tokenFile(port).exists());
+        assertFalse(DaemonClient.stop(port));
+    }
+
+    private CodegenConfigurator configurator(String lang, File output) {
+        CodegenConfigurator configurator = new CodegenConfigurator();
+        configurator.setLang(lang);
+        configurator.setInputSpec(spec.getAbsolutePath());
+        configurator.setOutputDir(output.getAbsolutePath());
+        return configurator;
+    }
+
+    /**
+     * Sends raw request lines.
+     *
+     * @return the first line of the answer
+     */
+    private String send(String... lines) throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintWriter writer = new PrintWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            for (String line : lines) {
+                writer.println(line);
+            }
+            return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))
+                    .readLine();
+        }
+    }
+}
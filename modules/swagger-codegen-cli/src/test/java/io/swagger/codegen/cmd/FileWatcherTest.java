@@ -0,0 +1,90 @@
+package io.swagger.codegen.cmd;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class FileWatcherTest {
+    private File dir;
+    private FileWatcher watcher;
+
+    @BeforeMethod
+    public void createDir() throws Exception {
+        dir = Files.createTempDirectory("file-watcher").toFile().getCanonicalFile();
+        watcher = new FileWatcher();
+    }
+
+    @AfterMethod
+    public void deleteDir() throws Exception {
+        watcher.close();
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testChangeBeforeWaitingIsReported() throws Exception {
+        File spec = new File(dir, "swagger.yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\n", "UTF-8");
+        watcher.watch(Collections.singleton(spec), Collections.<File>emptySet());
+
+        // saved while generating, before waiting for changes
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\ninfo: {}\n", "UTF-8");
+
+        assertEquals(watcher.awaitChanges(100), Collections.singleton(spec.toPath()));
+    }
+
+    @Test
+    public void testOtherFilesOfDirectoryAreIgnored() throws Exception {
+        File spec = new File(dir, "swagger.yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\n", "UTF-8");
+        watcher.watch(Collections.singleton(spec), Collections.<File>emptySet());
+
+        FileUtils.writeStringToFile(new File(dir, "notes.txt"), "unrelated", "UTF-8");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\ninfo: {}\n", "UTF-8");
+
+        assertEquals(watcher.awaitChanges(100), Collections.singleton(spec.toPath()));
+    }
+
+    @Test
+    public void testFilesAddedLaterAreWatched() throws Exception {
+        File spec = new File(dir, "swagger.yaml");
+        File pet = new File(dir, "definitions/pet.yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\n", "UTF-8");
+        FileUtils.writeStringToFile(pet, "Pet: {}\n", "UTF-8");
+        watcher.watch(Collections.singleton(spec), Collections.<File>emptySet());
+        // a $ref found by the next generation
+        watcher.watch(Collections.singleton(pet), Collections.<File>emptySet());
+        assertEquals(watcher.getFileCount(), 2);
+
+        FileUtils.writeStringToFile(pet, "Pet:\n  type: object\n", "UTF-8");
+
+        assertEquals(watcher.awaitChanges(100), Collections.singleton(pet.toPath()));
+    }
+
+    @Test
+    public void testChangesBelowTreeAreReported() throws Exception {
+        File templates = new File(dir, "templates");
+        File model = new File(templates, "Java/model.mustache");
+        FileUtils.writeStringToFile(model, "{{#models}}{{/models}}", "UTF-8");
+        watcher.watch(Collections.<File>emptySet(), Collections.singleton(templates));
+
+        FileUtils.writeStringToFile(model, "{{#models}}{{#model}}{{/model}}{{/models}}", "UTF-8");
+
+        Set<Path> changed = watcher.awaitChanges(100);
+        assertTrue(changed.contains(model.toPath()));
+        for (Path path : changed) {
+            assertTrue(watcher.isInTree(path));
+        }
+        assertFalse(watcher.isInTree(new File(dir, "swagger.yaml").toPath()));
+    }
+}
@@ -2,6 +2,9 @@ package io.swagger.codegen.cmd;
 
 import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationListener;
+import io.swagger.codegen.Generator;
+import io.swagger.codegen.ParallelGenerator;
 import io.swagger.codegen.SwaggerCodegen;
 import io.swagger.codegen.config.CodegenConfigurator;
 import mockit.Expectations;
@@ -12,6 +15,9 @@ import mockit.Verifications;
 import org.apache.commons.lang3.ArrayUtils;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 @SuppressWarnings("unused")
 public class GenerateTest {
 
@@ -487,6 +493,139 @@ public class GenerateTest {
         };
     }
 
+    @Test
+    public void testWorkers() throws Exception {
+        setupAndRunGenericTest("--workers", "4");
+        new FullVerifications() {
+            {
+                configurator.setWorkers(4);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        setupAndRunGenericTest("--incremental");
+        new FullVerifications() {
+            {
+                configurator.setIncremental(true);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testTimings() throws Exception {
+        setupAndRunGenericTest("--timings");
+        new FullVerifications() {
+            {
+                configurator.setTimings(true);
+                times = 1;
+                generator.addListener((GenerationListener) any);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testMergeInlineModels() throws Exception {
+        setupAndRunGenericTest("--merge-inline-models");
+        new FullVerifications() {
+            {
+                configurator.setMergeInlineModels(true);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testStreaming() throws Exception {
+        setupAndRunGenericTest("--streaming");
+        new FullVerifications() {
+            {
+                configurator.setStreaming(true);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testSpecCacheDir() throws Exception {
+        setupAndRunGenericTest("--spec-cache-dir", "/tmp/specs");
+        new FullVerifications() {
+            {
+                configurator.setSpecCacheDir("/tmp/specs");
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testTargets(@Mocked final ParallelGenerator parallelGenerator) throws Exception {
+        new Expectations() {
+            {
+                CodegenConfigurator.fromFile(anyString);
+                result = null;
+
+                new CodegenConfigurator();
+                times = 1;
+                result = configurator;
+
+                configurator.toClientOptInputs(null);
+                times = 1;
+                result = Arrays.asList(clientOptInput, clientOptInput);
+            }
+        };
+
+        SwaggerCodegen.main(new String[] {"generate", "-l", "java", "-i", "swagger.yaml",
+                "--targets", "spring=server,php=client", "--targets", "go=go-client"});
+
+        new Verifications() {
+            {
+                configurator.addTarget("spring", "server");
+                times = 1;
+                configurator.addTarget("php", "client");
+                times = 1;
+                configurator.addTarget("go", "go-client");
+                times = 1;
+                configurator.toClientOptInput();
+                times = 0;
+                ParallelGenerator.generate((List<Generator>) any);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testDaemonPort(@Mocked final DaemonClient daemonClient) throws Exception {
+        new Expectations() {
+            {
+                CodegenConfigurator.fromFile(anyString);
+                result = null;
+
+                new CodegenConfigurator();
+                times = 1;
+                result = configurator;
+
+                DaemonClient.generate(8642, configurator);
+                times = 1;
+                result = true;
+            }
+        };
+
+        SwaggerCodegen.main(new String[] {"generate", "-l", "java", "-i", "swagger.yaml", "--daemon-port", "8642"});
+
+        new Verifications() {
+            {
+                configurator.toClientOptInput();
+                times = 0;
+                new DefaultGenerator();
+                times = 0;
+            }
+        };
+    }
+
     private void setupAndRunTest(String specFlag, final String spec, String langFlag,
             final String lang, String outputDirFlag, final String outputDir,
             boolean configuratorFromFile, final String configFile, String... additionalParameters) {
@@ -29,6 +29,7 @@ import static io.swagger.codegen.config.CodegenConfiguratorUtils.applyReservedWo
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +46,10 @@ import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationListener;
+import io.swagger.codegen.GenerationMetrics;
+import io.swagger.codegen.Generator;
+import io.swagger.codegen.ParallelGenerator;
 import io.swagger.codegen.config.CodegenConfigurator;
 
 /**
@@ -283,6 +288,50 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "withXml", required = false)
     private Boolean withXml = false;
 
+    /**
+     * Number of threads used to render and write model and api files (1 = sequential)
+     */
+    @Parameter(name = "workers", property = "codegen.workers", required = false)
+    private Integer workers;
+
+    /**
+     * Only regenerate files whose inputs changed since the previous run
+     */
+    @Parameter(name = "incremental", property = "codegen.incremental", required = false)
+    private Boolean incremental;
+
+    /**
+     * Log the time spent in each generation phase and template, and write it to .swagger-codegen/timings.json
+     */
+    @Parameter(name = "timings", property = "codegen.timings", required = false)
+    private Boolean timings;
+
+    /**
+     * Generate a single model for inline schemas that only differ by their title, description, example or name
+     */
+    @Parameter(name = "mergeInlineModels", property = "codegen.mergeInlineModels", required = false)
+    private Boolean mergeInlineModels;
+
+    /**
+     * Write each model and api file as soon as it is processed, to lower the memory needed for large specs
+     */
+    @Parameter(name = "streaming", property = "codegen.streaming", required = false)
+    private Boolean streaming;
+
+    /**
+     * Output directory of each language generated in parallel in addition to language, from the same spec and
+     * options, e.g. a server next to the client. The library and templateDirectory are only used for language.
+     */
+    @Parameter(name = "targets", required = false)
+    private Map<String, String> targets;
+
+    /**
+     * Directory where parsed specs are kept, so that later builds skip parsing the spec when neither it nor the
+     * documents it refers to changed
+     */
+    @Parameter(name = "specCacheDir", property = "codegen.specCacheDir", required = false)
+    private File specCacheDir;
+
     /**
      * Skip the execution.
      */
@@ -406,6 +455,30 @@ public class CodeGenMojo extends AbstractMojo {
             configurator.setTemplateDir(templateDirectory.getAbsolutePath());
         }
 
+        if (null != workers) {
+            configurator.setWorkers(workers);
+        }
+
+        if (null != incremental) {
+            configurator.setIncremental(incremental);
+        }
+
+        if (null != timings) {
+            configurator.setTimings(timings);
+        }
+
+        if (null != mergeInlineModels) {
+            configurator.setMergeInlineModels(mergeInlineModels);
+        }
+
+        if (null != streaming) {
+            configurator.setStreaming(streaming);
+        }
+
+        if (null != specCacheDir) {
+            configurator.setSpecCacheDir(specCacheDir.getAbsolutePath());
+        }
+
         // Set generation options
         if (null != generateApis && generateApis) {
             System.setProperty(CodegenConstants.APIS, "");
@@ -512,14 +585,26 @@ public class CodeGenMojo extends AbstractMojo {
             }
         }
 
-        final ClientOptInput input = configurator.toClientOptInput();
-        final CodegenConfig config = input.getConfig();
+        if (targets != null) {
+            for (Map.Entry<String, String> target : targets.entrySet()) {
+                File targetOutput = new File(target.getValue());
+                if (!targetOutput.isAbsolute()) {
+                    targetOutput = new File(project.getBasedir(), target.getValue());
+                }
+                configurator.addTarget(target.getKey(), targetOutput.getAbsolutePath());
+            }
+        }
+
+        final List<ClientOptInput> inputs = configurator.toClientOptInputs(null);
+        final CodegenConfig config = inputs.get(0).getConfig();
 
         if (configOptions != null) {
-            for (CliOption langCliOption : config.cliOptions()) {
-                if (configOptions.containsKey(langCliOption.getOpt())) {
-                    input.getConfig().additionalProperties()
-                            .put(langCliOption.getOpt(), configOptions.get(langCliOption.getOpt()));
+            for (ClientOptInput input : inputs) {
+                for (CliOption langCliOption : input.getConfig().cliOptions()) {
+                    if (configOptions.containsKey(langCliOption.getOpt())) {
+                        input.getConfig().additionalProperties()
+                                .put(langCliOption.getOpt(), configOptions.get(langCliOption.getOpt()));
+                    }
                 }
             }
         }
@@ -534,7 +619,30 @@ public class CodeGenMojo extends AbstractMojo {
             return;
         }
         try {
-            new DefaultGenerator().opts(input).generate();
+            List<Generator> generators = new ArrayList<Generator>();
+            for (ClientOptInput input : inputs) {
+                DefaultGenerator generator = new DefaultGenerator();
+                if (Boolean.TRUE.equals(timings)) {
+                    final String name = input.getConfig().getName();
+                    generator.addListener(new GenerationListener() {
+                        @Override
+                        public void phaseCompleted(String phase, long nanos) {
+                            getLog().debug(name + ": " + phase + " completed in " + nanos / 1000000 + "ms");
+                        }
+
+                        @Override
+                        public void generationCompleted(GenerationMetrics metrics) {
+                            StringBuilder sb = new StringBuilder(name).append(':');
+                            for (String line : metrics.summary().split("\\r?\\n")) {
+                                sb.append(System.lineSeparator()).append(line);
+                            }
+                            getLog().info(sb);
+                        }
+                    });
+                }
+                generators.add(generator.opts(input));
+            }
+            ParallelGenerator.generate(generators);
         } catch (Exception e) {
             // Maven logs exceptions thrown by plugins only if invoked with -e
             // I find it annoying to jump through hoops to get basic diagnostic information,
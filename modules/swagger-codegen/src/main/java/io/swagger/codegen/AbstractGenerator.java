@@ -3,16 +3,22 @@ package io.swagger.codegen;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.output.FilesystemOutputSink;
+import io.swagger.codegen.output.OutputSink;
+import io.swagger.codegen.utils.TemplateManifest;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,21 +26,68 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGenerator.class);
 
-    @SuppressWarnings("static-method")
+    // resolved template files by template folder, embedded template folder, library and template name
+    private final ConcurrentMap<String, String> templateFileIndex = new ConcurrentHashMap<String, String>();
+
+    private OutputSink outputSink = new FilesystemOutputSink();
+
+    /**
+     * @return the sink receiving the generated files
+     */
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    /**
+     * Sends the generated files to the given sink instead of writing them to disk, e.g. to keep them in memory
+     * ({@link io.swagger.codegen.output.InMemoryOutputSink}) or to add them to a zip archive
+     * ({@link io.swagger.codegen.output.ZipOutputSink}).
+     *
+     * @param outputSink the sink receiving the generated files
+     */
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
     public File writeToFile(String filename, String contents) throws IOException {
         LOGGER.info("writing file " + filename);
-        File output = new File(filename);
-
-        if (output.getParent() != null && !new File(output.getParent()).exists()) {
-            File parent = new File(output.getParent());
-            parent.mkdirs();
-        }
-        Writer out = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(output), "UTF-8"));
+        Writer out = openWriter(outputSink.newOutputStream(filename));
 
         out.write(contents);
         out.close();
-        return output;
+        return new File(filename);
+    }
+
+    /**
+     * Executes a template straight into a file, so that the rendered contents are never held in memory
+     * as a whole. A partially written file is discarded if the template fails.
+     *
+     * @param filename output file
+     * @param template compiled template
+     * @param context  template data
+     * @return the written file
+     * @throws IOException if the file can't be written
+     */
+    public File writeToFile(String filename, Template template, Object context) throws IOException {
+        LOGGER.info("writing file " + filename);
+        OutputStream stream = outputSink.newOutputStream(filename);
+        Writer out = openWriter(stream);
+
+        boolean written = false;
+        try {
+            template.execute(context, out);
+            out.close();
+            written = true;
+        } finally {
+            if (!written) {
+                outputSink.discard(filename, stream);
+            }
+        }
+        return new File(filename);
+    }
+
+    private static Writer openWriter(OutputStream stream) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(stream, "UTF-8"));
     }
 
     public String readTemplate(String name) {
@@ -71,12 +124,25 @@ public abstract class AbstractGenerator {
     /**
      * Get the template file path with template dir prepended, and use the
      * library template if exists.
+     * <p>
+     * Lookups are remembered for the lifetime of the generator, so each template name
+     * is resolved against the file system and classpath once per template folder and library.
      *
      * @param config Codegen config
      * @param templateFile Template file
      * @return String Full template file path
      */
     public String getFullTemplateFile(CodegenConfig config, String templateFile) {
+        final String key = config.templateDir() + '|' + config.embeddedTemplateDir() + '|' + config.getLibrary() + '|' + templateFile;
+        String fullTemplateFile = templateFileIndex.get(key);
+        if (fullTemplateFile == null) {
+            fullTemplateFile = resolveTemplateFile(config, templateFile);
+            templateFileIndex.putIfAbsent(key, fullTemplateFile);
+        }
+        return fullTemplateFile;
+    }
+
+    private String resolveTemplateFile(CodegenConfig config, String templateFile) {
         //1st the code will check if there's a <template folder>/libraries/<library> folder containing the file
         //2nd it will check for the file in the specified <template folder> folder
         //3rd it will check if there's an <embedded template>/libraries/<library> folder containing the file
@@ -122,7 +188,11 @@ public abstract class AbstractGenerator {
     }
 
     public boolean embeddedTemplateExists(String name) {
-        return this.getClass().getClassLoader().getResource(getCPResourcePath(name)) != null;
+        final String resourcePath = getCPResourcePath(name);
+        if (TemplateManifest.getInstance().contains(resourcePath)) {
+            return true;
+        }
+        return this.getClass().getClassLoader().getResource(resourcePath) != null;
     }
 
     @SuppressWarnings("static-method")
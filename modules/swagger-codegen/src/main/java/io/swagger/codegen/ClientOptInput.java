@@ -12,6 +12,12 @@ public class ClientOptInput {
     private ClientOpts opts;
     private Swagger swagger;
     private List<AuthorizationValue> auths;
+    private int workers = 1;
+    private boolean incremental;
+    private boolean timings;
+    private boolean mergeInlineModels;
+    private boolean streaming;
+    private GenerationMetrics metrics = new GenerationMetrics();
 
     public ClientOptInput swagger(Swagger swagger) {
         this.setSwagger(swagger);
@@ -28,6 +34,31 @@ public class ClientOptInput {
         return this;
     }
 
+    public ClientOptInput workers(int workers) {
+        this.setWorkers(workers);
+        return this;
+    }
+
+    public ClientOptInput incremental(boolean incremental) {
+        this.setIncremental(incremental);
+        return this;
+    }
+
+    public ClientOptInput timings(boolean timings) {
+        this.setTimings(timings);
+        return this;
+    }
+
+    public ClientOptInput mergeInlineModels(boolean mergeInlineModels) {
+        this.setMergeInlineModels(mergeInlineModels);
+        return this;
+    }
+
+    public ClientOptInput streaming(boolean streaming) {
+        this.setStreaming(streaming);
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -65,6 +96,90 @@ public class ClientOptInput {
         this.opts = opts;
     }
 
+    /**
+     * Number of worker threads used to render and write model and api files.
+     * A value of 1 (the default) keeps generation sequential.
+     *
+     * @return the number of render workers
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Whether files generated from the same inputs as in the previous run are skipped,
+     * see {@link FileFingerprints}.
+     *
+     * @return true if generation is incremental
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Whether the metrics of the generation are written to {@value GenerationMetrics#LOCATION}.
+     *
+     * @return true if timings are written
+     */
+    public boolean isTimings() {
+        return timings;
+    }
+
+    public void setTimings(boolean timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Whether similar inline schemas are generated as a single model,
+     * see {@link InlineModelResolver#isMergeInlineModels()}.
+     *
+     * @return true if similar inline models are merged
+     */
+    public boolean isMergeInlineModels() {
+        return mergeInlineModels;
+    }
+
+    public void setMergeInlineModels(boolean mergeInlineModels) {
+        this.mergeInlineModels = mergeInlineModels;
+    }
+
+    /**
+     * Whether model and api files are written as soon as they are processed, releasing what supporting
+     * files do not need instead of keeping every model and operation until the end of the generation.
+     * Supporting files only see the fields of models and operations their templates refer to.
+     *
+     * @return true if generation is streaming
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Metrics of the generation of this input, including the parsing of the spec when it was read
+     * by {@link io.swagger.codegen.config.CodegenConfigurator}.
+     *
+     * @return the metrics collector
+     */
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(GenerationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ApiModelProperty(dataType = "Object")
     public Swagger getSwagger() {
         return swagger;
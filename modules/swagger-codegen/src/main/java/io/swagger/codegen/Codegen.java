@@ -1,10 +1,7 @@
 package io.swagger.codegen;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.ServiceLoader;
 
 import org.apache.commons.cli.BasicParser;
 import org.apache.commons.cli.CommandLine;
@@ -28,7 +25,6 @@ public class Codegen extends DefaultGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Codegen.class);
 
-    static Map<String, CodegenConfig> configs = new HashMap<String, CodegenConfig>();
     static String configString;
     static String debugInfoOptions = "\nThe following additional debug options are available for all codegen targets:" +
             "\n -DdebugSwagger prints the swagger specification as interpreted by the codegen" +
@@ -120,11 +116,14 @@ public class Codegen extends DefaultGenerator {
         }
     }
 
+    /**
+     * @return a new instance of every registered generator; use {@link CodegenConfigRegistry} to look generators up
+     * without creating all of them
+     */
     public static List<CodegenConfig> getExtensions() {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class);
         List<CodegenConfig> output = new ArrayList<CodegenConfig>();
-        for (CodegenConfig aLoader : loader) {
-            output.add(aLoader);
+        for (CodegenConfigRegistry.Entry entry : CodegenConfigRegistry.getInstance().getEntries()) {
+            output.add(entry.newInstance());
         }
         return output;
     }
@@ -135,8 +134,9 @@ public class Codegen extends DefaultGenerator {
     }
 
     public static CodegenConfig getConfig(String name) {
-        if (configs.containsKey(name)) {
-            return configs.get(name);
+        CodegenConfig config = CodegenConfigRegistry.getInstance().newInstance(name);
+        if (config != null) {
+            return config;
         } else {
             // see if it's a class
             try {
@@ -151,15 +151,13 @@ public class Codegen extends DefaultGenerator {
     }
 
     static {
-        List<CodegenConfig> extensions = getExtensions();
         StringBuilder sb = new StringBuilder();
 
-        for (CodegenConfig config : extensions) {
+        for (String name : CodegenConfigRegistry.getInstance().getNames()) {
             if (sb.toString().length() != 0) {
                 sb.append(", ");
             }
-            sb.append(config.getName());
-            configs.put(config.getName(), config);
+            sb.append(name);
             configString = sb.toString();
         }
     }
@@ -6,6 +6,7 @@ import java.util.Set;
 
 import com.samskivert.mustache.Mustache.Compiler;
 
+import io.swagger.codegen.output.OutputSink;
 import io.swagger.models.Model;
 import io.swagger.models.Operation;
 import io.swagger.models.Swagger;
@@ -125,6 +126,14 @@ public interface CodegenConfig {
 
     void processSwagger(Swagger swagger);
 
+    void setSpecIndex(SpecIndex specIndex);
+
+    SpecIndex getSpecIndex();
+
+    void setOutputSink(OutputSink outputSink);
+
+    OutputSink getOutputSink();
+
     Compiler processCompiler(Compiler compiler);
 
     String sanitizeTag(String tag);
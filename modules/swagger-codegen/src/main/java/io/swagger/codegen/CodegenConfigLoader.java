@@ -1,9 +1,5 @@
 package io.swagger.codegen;
 
-import java.util.ServiceLoader;
-
-import static java.util.ServiceLoader.load;
-
 public class CodegenConfigLoader {
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
@@ -12,22 +8,20 @@ public class CodegenConfigLoader {
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = load(CodegenConfig.class);
-
-        StringBuilder availableConfigs = new StringBuilder();
-
-        for (CodegenConfig config : loader) {
-            if (config.getName().equals(name)) {
-                return config;
-            }
-
-            availableConfigs.append(config.getName()).append("\n");
+        CodegenConfigRegistry registry = CodegenConfigRegistry.getInstance();
+        CodegenConfig config = registry.newInstance(name);
+        if (config != null) {
+            return config;
         }
 
         // else try to load directly
         try {
             return (CodegenConfig) Class.forName(name).newInstance();
         } catch (Exception e) {
+            StringBuilder availableConfigs = new StringBuilder();
+            for (String configName : registry.getNames()) {
+                availableConfigs.append(configName).append("\n");
+            }
             throw new RuntimeException("Can't load config class with name ".concat(name) + " Available: " + availableConfigs.toString(), e);
         }
     }
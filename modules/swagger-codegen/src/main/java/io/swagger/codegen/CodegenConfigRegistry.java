@@ -0,0 +1,256 @@
+package io.swagger.codegen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * The {@link CodegenConfig} implementations registered as services, found by name without instantiating all of
+ * them.
+ * <p>
+ * The name and tag of the generators packaged with swagger-codegen are read from an index written at build time by
+ * {@link #main(String[])} to {@value #LOCATION}. Generators registered by other jars, or all of them when the
+ * index is not available, are instantiated once to learn their name. As with {@link java.util.ServiceLoader}, the
+ * first generator registered with a name wins.
+ * <p>
+ * Registries are kept by class loader without holding on to it, so that e.g. the class loader of a build plugin
+ * can still be discarded.
+ */
+public class CodegenConfigRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodegenConfigRegistry.class);
+
+    public static final String LOCATION = "META-INF/swagger-codegen/generators.idx";
+
+    static final String SERVICES = "META-INF/services/" + CodegenConfig.class.getName();
+
+    private static final Map<ClassLoader, CodegenConfigRegistry> REGISTRIES =
+            new WeakHashMap<ClassLoader, CodegenConfigRegistry>();
+
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    CodegenConfigRegistry(ClassLoader classLoader, Set<String> providers, Map<String, Entry> index) {
+        for (String provider : providers) {
+            Entry entry = index.get(provider);
+            entries.add(entry != null ? entry : new Entry(classLoader, provider, null, null));
+        }
+    }
+
+    /**
+     * @return the registry of the generators visible from the context class loader, like
+     * {@link java.util.ServiceLoader#load(Class)}
+     */
+    public static CodegenConfigRegistry getInstance() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        synchronized (REGISTRIES) {
+            CodegenConfigRegistry registry = REGISTRIES.get(classLoader);
+            if (registry == null) {
+                registry = load(classLoader);
+                REGISTRIES.put(classLoader, registry);
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * @param name name of a generator, see {@link CodegenConfig#getName()}
+     * @return a new instance of the first generator registered with this name, or null if there is none
+     */
+    public CodegenConfig newInstance(String name) {
+        for (Entry entry : entries) {
+            if (name.equals(entry.getName())) {
+                return entry.newInstance();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the generators in the order they are registered
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return the names of the generators in the order they are registered
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<String>();
+        for (Entry entry : entries) {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+
+    static CodegenConfigRegistry load(ClassLoader classLoader) {
+        Set<String> providers = new LinkedHashSet<String>();
+        Map<String, Entry> index = new HashMap<String, Entry>();
+        try {
+            Enumeration<URL> services = classLoader.getResources(SERVICES);
+            while (services.hasMoreElements()) {
+                providers.addAll(readProviders(services.nextElement().openStream()));
+            }
+            Enumeration<URL> indexes = classLoader.getResources(LOCATION);
+            while (indexes.hasMoreElements()) {
+                index.putAll(readIndex(classLoader, indexes.nextElement().openStream()));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the registered generators", e);
+        }
+        return new CodegenConfigRegistry(classLoader, providers, index);
+    }
+
+    /**
+     * Reads the class names of a services file, without comments.
+     */
+    static Set<String> readProviders(InputStream in) throws IOException {
+        Set<String> providers = new LinkedHashSet<String>();
+        for (String line : readLines(in)) {
+            int comment = line.indexOf('#');
+            String provider = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (!provider.isEmpty()) {
+                providers.add(provider);
+            }
+        }
+        return providers;
+    }
+
+    /**
+     * Reads an index, with a tab separated class name, name and tag per line.
+     */
+    static Map<String, Entry> readIndex(ClassLoader classLoader, InputStream in) throws IOException {
+        Map<String, Entry> index = new HashMap<String, Entry>();
+        for (String line : readLines(in)) {
+            String[] parts = line.split("\t");
+            if (parts.length == 3) {
+                CodegenType tag = "-".equals(parts[2]) ? null : CodegenType.valueOf(parts[2]);
+                index.put(parts[0], new Entry(classLoader, parts[0], parts[1], tag));
+            }
+        }
+        return index;
+    }
+
+    private static List<String> readLines(InputStream in) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } finally {
+            reader.close();
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the index of the generators registered in a classes folder.
+     *
+     * @param args the output folder of the build, containing the services file and the compiled generators
+     * @throws IOException if the services file can't be read or the index can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("usage: CodegenConfigRegistry <classes folder>");
+        }
+        Path root = Paths.get(args[0]);
+        Path services = root.resolve(SERVICES.replace('/', File.separatorChar));
+        Set<String> providers = readProviders(Files.newInputStream(services));
+        CodegenConfigRegistry registry = new CodegenConfigRegistry(CodegenConfigRegistry.class.getClassLoader(),
+                providers, Collections.<String, Entry>emptyMap());
+
+        Path index = root.resolve(LOCATION.replace('/', File.separatorChar));
+        Files.createDirectories(index.getParent());
+        Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(index), StandardCharsets.UTF_8));
+        try {
+            for (Entry entry : registry.getEntries()) {
+                CodegenType tag = entry.getTag();
+                out.write(entry.getClassName() + "\t" + entry.getName() + "\t" + (tag == null ? "-" : tag.name()));
+                out.write('\n');
+            }
+        } finally {
+            out.close();
+        }
+        LOGGER.info("indexed " + providers.size() + " generators in " + index);
+    }
+
+    /**
+     * A registered generator, whose name and tag are known from the index or from a first instance.
+     */
+    public static class Entry {
+        // weak, as the registries are the values of a map keyed by the class loader
+        private final WeakReference<ClassLoader> classLoader;
+        private final String className;
+        private String name;
+        private CodegenType tag;
+
+        Entry(ClassLoader classLoader, String className, String name, CodegenType tag) {
+            this.classLoader = new WeakReference<ClassLoader>(classLoader);
+            this.className = className;
+            this.name = name;
+            this.tag = tag;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public synchronized String getName() {
+            if (name == null) {
+                describe(newInstance());
+            }
+            return name;
+        }
+
+        public synchronized CodegenType getTag() {
+            if (name == null) {
+                describe(newInstance());
+            }
+            return tag;
+        }
+
+        private void describe(CodegenConfig config) {
+            name = config.getName();
+            tag = config.getTag();
+        }
+
+        public CodegenConfig newInstance() {
+            ClassLoader loader = classLoader.get();
+            if (loader == null) {
+                throw new IllegalStateException("The class loader of generator " + className + " was discarded");
+            }
+            try {
+                return (CodegenConfig) Class.forName(className, true, loader).newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to instantiate generator " + className, e);
+            }
+        }
+    }
+}
@@ -228,4 +228,22 @@ public class CodegenConstants {
 
     public static final String STRIP_PACKAGE_NAME = "stripPackageName";
     public static final String STRIP_PACKAGE_NAME_DESC = "Whether to strip leading dot-separated packages from generated model classes";
+
+    public static final String WORKERS = "workers";
+    public static final String WORKERS_DESC = "Number of threads used to render and write model and api files in parallel (1 = sequential, the default).";
+
+    public static final String INCREMENTAL = "incremental";
+    public static final String INCREMENTAL_DESC = "Only render and write files whose inputs (spec data, templates, options) changed since the previous run, tracked in .swagger-codegen/FINGERPRINTS.";
+
+    public static final String TIMINGS = "timings";
+    public static final String TIMINGS_DESC = "Print the time spent in each generation phase and template, and write it to .swagger-codegen/timings.json.";
+
+    public static final String MERGE_INLINE_MODELS = "mergeInlineModels";
+    public static final String MERGE_INLINE_MODELS_DESC = "Generate a single model for inline schemas that only differ by their title, description, example or name, including inline body parameter schemas.";
+
+    public static final String STREAMING = "streaming";
+    public static final String STREAMING_DESC = "Write each model and api file as soon as it is processed, and only keep the model and operation fields that supporting file templates refer to. Lowers the memory needed for large specs.";
+
+    public static final String SPEC_CACHE_DIR = "specCacheDir";
+    public static final String SPEC_CACHE_DIR_DESC = "Directory where parsed specs are kept, so that later runs skip parsing the spec when neither it nor the documents it refers to changed.";
 }
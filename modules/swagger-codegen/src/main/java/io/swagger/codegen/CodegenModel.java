@@ -8,6 +8,7 @@ import java.util.TreeSet;
 import java.util.Objects;
 
 import io.swagger.models.ExternalDocs;
+import io.swagger.util.Json;
 
 public class CodegenModel {
     public String parent, parentSchema;
@@ -19,6 +20,7 @@ public class CodegenModel {
     public List<CodegenModel> children;
 
     public String name, classname, title, description, classVarName, modelJson, dataType, xmlPrefix, xmlNamespace, xmlName;
+    private Object modelJsonSource;
     public String classFilename; // store the class file name, mainly used for import
     public String unescapedDescription;
     public String discriminator;
@@ -55,6 +57,23 @@ public class CodegenModel {
         allMandatory = mandatory;
     }
 
+    /**
+     * @return the JSON of the model of the spec; unless set by the generator, it is rendered on each call
+     */
+    public String getModelJson() {
+        if (modelJson == null && modelJsonSource != null) {
+            return Json.pretty(modelJsonSource);
+        }
+        return modelJson;
+    }
+
+    /**
+     * @param source model of the spec {@link #getModelJson()} is rendered from when not set by the generator
+     */
+    public void setModelJsonSource(Object source) {
+        this.modelJsonSource = source;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", name, classname);
@@ -89,6 +108,8 @@ public class CodegenModel {
             return false;
         if (modelJson != null ? !modelJson.equals(that.modelJson) : that.modelJson != null)
             return false;
+        if (modelJsonSource != null ? !modelJsonSource.equals(that.modelJsonSource) : that.modelJsonSource != null)
+            return false;
         if (dataType != null ? !dataType.equals(that.dataType) : that.dataType != null)
             return false;
         if (xmlPrefix != null ? !xmlPrefix.equals(that.xmlPrefix) : that.xmlPrefix != null)
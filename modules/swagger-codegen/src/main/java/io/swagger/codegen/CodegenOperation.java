@@ -4,7 +4,9 @@ import io.swagger.models.ExternalDocs;
 import io.swagger.models.Tag;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -189,6 +191,133 @@ public class CodegenOperation {
         return ("/{" + id + "}").equals(pathWithoutBaseName());
     }
 
+    /**
+     * Copy the operation, so that it can be added to several groups that are then processed independently.
+     * Parameters, responses, auth methods, media types and examples are copied; the external docs and the
+     * vendor extensions are shared, like they are shared with the operation of the spec.
+     *
+     * @return a copy of the operation
+     */
+    public CodegenOperation copy() {
+        CodegenOperation output = new CodegenOperation();
+        for (CodegenProperty header : this.responseHeaders) {
+            output.responseHeaders.add(header.clone());
+        }
+        output.hasAuthMethods = this.hasAuthMethods;
+        output.hasConsumes = this.hasConsumes;
+        output.hasProduces = this.hasProduces;
+        output.hasParams = this.hasParams;
+        output.hasOptionalParams = this.hasOptionalParams;
+        output.hasRequiredParams = this.hasRequiredParams;
+        output.returnTypeIsPrimitive = this.returnTypeIsPrimitive;
+        output.returnSimpleType = this.returnSimpleType;
+        output.subresourceOperation = this.subresourceOperation;
+        output.isMapContainer = this.isMapContainer;
+        output.isListContainer = this.isListContainer;
+        output.isMultipart = this.isMultipart;
+        output.hasMore = this.hasMore;
+        output.isResponseBinary = this.isResponseBinary;
+        output.isResponseFile = this.isResponseFile;
+        output.hasReference = this.hasReference;
+        output.isRestfulIndex = this.isRestfulIndex;
+        output.isRestfulShow = this.isRestfulShow;
+        output.isRestfulCreate = this.isRestfulCreate;
+        output.isRestfulUpdate = this.isRestfulUpdate;
+        output.isRestfulDestroy = this.isRestfulDestroy;
+        output.isRestful = this.isRestful;
+        output.isDeprecated = this.isDeprecated;
+        output.path = this.path;
+        output.operationId = this.operationId;
+        output.returnType = this.returnType;
+        output.httpMethod = this.httpMethod;
+        output.returnBaseType = this.returnBaseType;
+        output.returnContainer = this.returnContainer;
+        output.summary = this.summary;
+        output.unescapedNotes = this.unescapedNotes;
+        output.notes = this.notes;
+        output.baseName = this.baseName;
+        output.defaultResponse = this.defaultResponse;
+        output.discriminator = this.discriminator;
+        output.consumes = copyMaps(this.consumes);
+        output.produces = copyMaps(this.produces);
+        output.prioritizedContentTypes = copyMaps(this.prioritizedContentTypes);
+
+        // the body parameter is also one of allParams, keep it that way in the copy
+        Map<CodegenParameter, CodegenParameter> copies = new IdentityHashMap<CodegenParameter, CodegenParameter>();
+        output.allParams = copyParams(this.allParams, copies);
+        output.bodyParam = copyParam(this.bodyParam, copies);
+        output.bodyParams = copyParams(this.bodyParams, copies);
+        output.pathParams = copyParams(this.pathParams, copies);
+        output.queryParams = copyParams(this.queryParams, copies);
+        output.headerParams = copyParams(this.headerParams, copies);
+        output.formParams = copyParams(this.formParams, copies);
+        output.requiredParams = copyParams(this.requiredParams, copies);
+
+        if (this.authMethods != null) {
+            output.authMethods = new ArrayList<CodegenSecurity>();
+            for (CodegenSecurity authMethod : this.authMethods) {
+                output.authMethods.add(authMethod.copy());
+            }
+        }
+        if (this.tags != null) {
+            output.tags = new ArrayList<Tag>(this.tags);
+        }
+        if (this.responses != null) {
+            output.responses = new ArrayList<CodegenResponse>();
+            for (CodegenResponse response : this.responses) {
+                output.responses.add(response.copy());
+            }
+        }
+        if (this.imports != null) {
+            output.imports = new HashSet<String>(this.imports);
+        }
+        output.examples = copyMaps(this.examples);
+        output.requestBodyExamples = copyMaps(this.requestBodyExamples);
+        output.externalDocs = this.externalDocs;
+        output.vendorExtensions = this.vendorExtensions;
+        output.nickname = this.nickname;
+        output.operationIdOriginal = this.operationIdOriginal;
+        output.operationIdLowerCase = this.operationIdLowerCase;
+        output.operationIdCamelCase = this.operationIdCamelCase;
+        output.operationIdSnakeCase = this.operationIdSnakeCase;
+        return output;
+    }
+
+    private static List<Map<String, String>> copyMaps(List<Map<String, String>> maps) {
+        if (maps == null) {
+            return null;
+        }
+        List<Map<String, String>> output = new ArrayList<Map<String, String>>();
+        for (Map<String, String> map : maps) {
+            output.add(map == null ? null : new HashMap<String, String>(map));
+        }
+        return output;
+    }
+
+    private static List<CodegenParameter> copyParams(List<CodegenParameter> params,
+                                                     Map<CodegenParameter, CodegenParameter> copies) {
+        if (params == null) {
+            return null;
+        }
+        List<CodegenParameter> output = new ArrayList<CodegenParameter>();
+        for (CodegenParameter param : params) {
+            output.add(copyParam(param, copies));
+        }
+        return output;
+    }
+
+    private static CodegenParameter copyParam(CodegenParameter param, Map<CodegenParameter, CodegenParameter> copies) {
+        if (param == null) {
+            return null;
+        }
+        CodegenParameter copy = copies.get(param);
+        if (copy == null) {
+            copy = param.copy();
+            copies.put(param, copy);
+        }
+        return copy;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", baseName, path);
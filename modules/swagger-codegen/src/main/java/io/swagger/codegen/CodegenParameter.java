@@ -1,5 +1,7 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -14,6 +16,7 @@ public class CodegenParameter {
 
     public String example; // example value (x-example)
     public String jsonSchema;
+    private Object jsonSchemaSource; // parameter of the spec, rendered by getJsonSchema() when jsonSchema is not set
     public boolean isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isByteArray, isBinary, isBoolean, isDate, isDateTime, isUuid;
     public boolean isListContainer, isMapContainer;
     public boolean isFile, notFile;
@@ -114,6 +117,7 @@ public class CodegenParameter {
         output.uniqueItems = this.uniqueItems;
         output.multipleOf = this.multipleOf;
         output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSource = this.jsonSchemaSource;
         output.defaultValue = this.defaultValue;
         output.example = this.example;
         output.isEnum = this.isEnum;
@@ -149,6 +153,17 @@ public class CodegenParameter {
         return output;
     }
 
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSchemaSource != null) {
+            return Json.pretty(jsonSchemaSource);
+        }
+        return jsonSchema;
+    }
+
+    public void setJsonSchemaSource(Object source) {
+        this.jsonSchemaSource = source;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", baseName, dataType);
@@ -210,6 +225,8 @@ public class CodegenParameter {
             return false;
         if (jsonSchema != null ? !jsonSchema.equals(that.jsonSchema) : that.jsonSchema != null)
             return false;
+        if (jsonSchemaSource != null ? !jsonSchemaSource.equals(that.jsonSchemaSource) : that.jsonSchemaSource != null)
+            return false;
         if (isString != that.isString)
             return false;
         if (isNumeric != that.isNumeric)
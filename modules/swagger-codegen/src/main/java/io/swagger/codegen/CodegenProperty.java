@@ -1,5 +1,8 @@
 package io.swagger.codegen;
 
+import io.swagger.codegen.utils.StringPool;
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +35,7 @@ public class CodegenProperty implements Cloneable {
     public String example;
 
     public String jsonSchema;
+    private Object jsonSchemaSource;
     public String minimum;
     public String maximum;
     public boolean exclusiveMinimum;
@@ -214,6 +218,9 @@ public class CodegenProperty implements Cloneable {
         if ((this.jsonSchema == null) ? (other.jsonSchema != null) : !this.jsonSchema.equals(other.jsonSchema)) {
             return false;
         }
+        if (this.jsonSchemaSource != other.jsonSchemaSource && (this.jsonSchemaSource == null || !this.jsonSchemaSource.equals(other.jsonSchemaSource))) {
+            return false;
+        }
         if (this.minimum != other.minimum && (this.minimum == null || !this.minimum.equals(other.minimum))) {
             return false;
         }
@@ -347,6 +354,63 @@ public class CodegenProperty implements Cloneable {
         return true;
     }
 
+    /**
+     * @return the JSON of the property of the spec; unless set by the generator, it is rendered on each call
+     */
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSchemaSource != null) {
+            return Json.pretty(jsonSchemaSource);
+        }
+        return jsonSchema;
+    }
+
+    /**
+     * @param source property of the spec {@link #getJsonSchema()} is rendered from when not set by the generator
+     */
+    public void setJsonSchemaSource(Object source) {
+        this.jsonSchemaSource = source;
+    }
+
+    /**
+     * Replaces the names, types and values of this property and of its items by their pooled instances. Large
+     * specs repeat most of them (data types, getters, default values) across thousands of properties.
+     *
+     * @param pool strings shared by the properties of a generation
+     */
+    public void shareStrings(StringPool pool) {
+        CodegenProperty property = this;
+        while (property != null) {
+            property.baseName = pool.get(property.baseName);
+            property.complexType = pool.get(property.complexType);
+            property.getter = pool.get(property.getter);
+            property.setter = pool.get(property.setter);
+            property.description = pool.get(property.description);
+            property.unescapedDescription = pool.get(property.unescapedDescription);
+            property.datatype = pool.get(property.datatype);
+            property.datatypeWithEnum = pool.get(property.datatypeWithEnum);
+            property.dataFormat = pool.get(property.dataFormat);
+            property.name = pool.get(property.name);
+            property.min = pool.get(property.min);
+            property.max = pool.get(property.max);
+            property.defaultValue = pool.get(property.defaultValue);
+            property.defaultValueWithParam = pool.get(property.defaultValueWithParam);
+            property.baseType = pool.get(property.baseType);
+            property.containerType = pool.get(property.containerType);
+            property.title = pool.get(property.title);
+            property.pattern = pool.get(property.pattern);
+            property.example = pool.get(property.example);
+            property.minimum = pool.get(property.minimum);
+            property.maximum = pool.get(property.maximum);
+            property.discriminatorValue = pool.get(property.discriminatorValue);
+            property.nameInCamelCase = pool.get(property.nameInCamelCase);
+            property.enumName = pool.get(property.enumName);
+            property.xmlPrefix = pool.get(property.xmlPrefix);
+            property.xmlName = pool.get(property.xmlName);
+            property.xmlNamespace = pool.get(property.xmlNamespace);
+            property = property.items;
+        }
+    }
+
     @Override
     public CodegenProperty clone() {
         try {
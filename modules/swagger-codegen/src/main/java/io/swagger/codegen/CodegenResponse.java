@@ -1,6 +1,9 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,12 +24,69 @@ public class CodegenResponse {
     public boolean isFile = false;
     public Object schema;
     public String jsonSchema;
+    private Object jsonSchemaSource; // response of the spec, rendered by getJsonSchema() when jsonSchema is not set
     public Map<String, Object> vendorExtensions;
 
     public boolean isWildcard() {
         return "0".equals(code) || "default".equals(code);
     }
 
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSchemaSource != null) {
+            return Json.pretty(jsonSchemaSource);
+        }
+        return jsonSchema;
+    }
+
+    public void setJsonSchemaSource(Object source) {
+        this.jsonSchemaSource = source;
+    }
+
+    public CodegenResponse copy() {
+        CodegenResponse output = new CodegenResponse();
+        for (CodegenProperty header : this.headers) {
+            output.headers.add(header.clone());
+        }
+        output.code = this.code;
+        output.message = this.message;
+        output.hasMore = this.hasMore;
+        if (this.examples != null) {
+            output.examples = new ArrayList<Map<String, Object>>();
+            for (Map<String, Object> example : this.examples) {
+                output.examples.add(new HashMap<String, Object>(example));
+            }
+        }
+        output.dataType = this.dataType;
+        output.baseType = this.baseType;
+        output.containerType = this.containerType;
+        output.hasHeaders = this.hasHeaders;
+        output.isString = this.isString;
+        output.isNumeric = this.isNumeric;
+        output.isInteger = this.isInteger;
+        output.isLong = this.isLong;
+        output.isNumber = this.isNumber;
+        output.isFloat = this.isFloat;
+        output.isDouble = this.isDouble;
+        output.isByteArray = this.isByteArray;
+        output.isBoolean = this.isBoolean;
+        output.isDate = this.isDate;
+        output.isDateTime = this.isDateTime;
+        output.isUuid = this.isUuid;
+        output.isDefault = this.isDefault;
+        output.simpleType = this.simpleType;
+        output.primitiveType = this.primitiveType;
+        output.isMapContainer = this.isMapContainer;
+        output.isListContainer = this.isListContainer;
+        output.isBinary = this.isBinary;
+        output.isFile = this.isFile;
+        output.schema = this.schema;
+        output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSource = this.jsonSchemaSource;
+        // shared with the response of the spec, as set by DefaultCodegen.fromResponse
+        output.vendorExtensions = this.vendorExtensions;
+        return output;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", code, containerType);
@@ -75,6 +135,8 @@ public class CodegenResponse {
             return false;
         if (vendorExtensions != null ? !vendorExtensions.equals(that.vendorExtensions) : that.vendorExtensions != null)
             return false;
+        if (jsonSchemaSource != null ? !jsonSchemaSource.equals(that.jsonSchemaSource) : that.jsonSchemaSource != null)
+            return false;
         return jsonSchema != null ? jsonSchema.equals(that.jsonSchema) : that.jsonSchema == null;
     }
 
@@ -2,8 +2,11 @@ package io.swagger.codegen;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,6 +21,10 @@ import com.google.common.collect.Lists;
 import com.samskivert.mustache.Mustache.Compiler;
 
 import io.swagger.codegen.examples.ExampleGenerator;
+import io.swagger.codegen.output.FilesystemOutputSink;
+import io.swagger.codegen.output.OutputSink;
+import io.swagger.codegen.utils.ModelGraph;
+import io.swagger.codegen.utils.StringPool;
 import io.swagger.models.ArrayModel;
 import io.swagger.models.ComposedModel;
 import io.swagger.models.Model;
@@ -94,6 +101,8 @@ public class DefaultCodegen {
     protected boolean removeOperationIdPrefix;
     protected boolean supportsInheritance;
     protected boolean supportsMixins;
+    // render modelJson/jsonSchema when converting, for templates that print them (otherwise rendered on use)
+    protected boolean renderJsonSchema;
     protected Map<String, String> supportedLibraries = new LinkedHashMap<String, String>();
     protected String library;
     protected Boolean sortParamsByRequiredFlag = true;
@@ -108,6 +117,13 @@ public class DefaultCodegen {
     protected Map<String, String> specialCharReplacements = new HashMap<String, String>();
     // When a model is an alias for a simple type
     protected Map<String, String> typeAliases = null;
+    protected ModelGraph modelGraph;
+    protected SpecIndex specIndex;
+    protected OutputSink outputSink = new FilesystemOutputSink();
+    // examples rendered since the spec index was set, see newExampleGenerator
+    private final Map<String, String> renderedExamples = new ConcurrentHashMap<String, String>();
+    // strings of the model properties converted since the spec index was set, see fromModel
+    private final StringPool stringPool = new StringPool();
 
     protected String ignoreFilePathOverride;
 
@@ -365,6 +381,62 @@ public class DefaultCodegen {
     public void processSwagger(Swagger swagger) {
     }
 
+    /**
+     * Set by the generator once inline models have been resolved, before models and apis are converted.
+     *
+     * @param specIndex lookups into the spec being generated
+     */
+    public void setSpecIndex(SpecIndex specIndex) {
+        this.specIndex = specIndex;
+        renderedExamples.clear();
+        stringPool.clear();
+    }
+
+    /**
+     * @return lookups into the spec being generated, or null outside of a generation
+     */
+    public SpecIndex getSpecIndex() {
+        return specIndex;
+    }
+
+    /**
+     * Set by the generator, so that files written by the config itself (e.g. in {@link #processSwagger(Swagger)})
+     * go to the same place as the rendered ones.
+     *
+     * @param outputSink the sink receiving the generated files
+     */
+    public void setOutputSink(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
+
+    /**
+     * @return the sink receiving the generated files
+     */
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    /**
+     * Writes a file which is not rendered from a template through the output sink of the generator.
+     *
+     * @param filename output file
+     * @param contents contents of the file
+     * @throws IOException if the file can't be written
+     */
+    protected void writeToFile(String filename, String contents) throws IOException {
+        OutputStream out = outputSink.newOutputStream(filename);
+        boolean written = false;
+        try {
+            out.write(contents.getBytes("UTF-8"));
+            out.close();
+            written = true;
+        } finally {
+            if (!written) {
+                outputSink.discard(filename, out);
+            }
+        }
+    }
+
     // override with any special handling of the JMustache compiler
     @SuppressWarnings("unused")
     public Compiler processCompiler(Compiler compiler) {
@@ -1316,7 +1388,11 @@ public class DefaultCodegen {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(model);
+        if (renderJsonSchema) {
+            m.modelJson = Json.pretty(model);
+        } else {
+            m.setModelJsonSource(model);
+        }
         m.externalDocs = model.getExternalDocs();
         m.vendorExtensions = model.getVendorExtensions();
         m.isAlias = typeAliases.containsKey(name);
@@ -1387,7 +1463,7 @@ public class DefaultCodegen {
                     // set first interface with discriminator found as parent
                     if (parent == null
                             && ((interfaceModel instanceof ModelImpl && ((ModelImpl) interfaceModel).getDiscriminator() != null)
-                            || (interfaceModel instanceof ComposedModel && isDiscriminatorInInterfaceTree((ComposedModel) interfaceModel, allDefinitions)))) {
+                            || (interfaceModel instanceof ComposedModel && getModelGraph(allDefinitions).hasDiscriminatorInInterfaceTree(_interface.getSimpleRef())))) {
                         parent = _interface;
                     } else {
                         final String interfaceRef = toModelName(_interface.getSimpleRef());
@@ -1456,31 +1532,36 @@ public class DefaultCodegen {
                 postProcessModelProperty(m, prop);
             }
         }
+        // vars, requiredVars, optionalVars... hold the same properties, allVars may hold others
+        shareStrings(m.vars);
+        if (m.allVars != m.vars) {
+            shareStrings(m.allVars);
+        }
         return m;
     }
 
+    private void shareStrings(List<CodegenProperty> properties) {
+        if (properties != null) {
+            for (CodegenProperty property : properties) {
+                property.shareStrings(stringPool);
+            }
+        }
+    }
+
     /**
-     * Recursively look for a discriminator in the interface tree
+     * Returns the inheritance graph of the given definitions, building it on first use.
+     *
+     * @param allDefinitions a map of all Swagger models from the spec
+     * @return the inheritance graph of the definitions
      */
-    private boolean isDiscriminatorInInterfaceTree(ComposedModel model, Map<String, Model> allDefinitions) {
-        if (model == null || allDefinitions == null)
-            return false;
-
-        Model child = model.getChild();
-        if (child instanceof ModelImpl && ((ModelImpl) child).getDiscriminator() != null) {
-            return true;
+    public ModelGraph getModelGraph(Map<String, Model> allDefinitions) {
+        if (specIndex != null && specIndex.getModelGraph().isGraphOf(allDefinitions)) {
+            return specIndex.getModelGraph();
         }
-        for (RefModel _interface : model.getInterfaces()) {
-            Model interfaceModel = allDefinitions.get(_interface.getSimpleRef());
-            if (interfaceModel instanceof ModelImpl && ((ModelImpl) interfaceModel).getDiscriminator() != null) {
-                return true;
-            }
-            if (interfaceModel instanceof ComposedModel) {
-
-                return isDiscriminatorInInterfaceTree((ComposedModel) interfaceModel, allDefinitions);
-            }
+        if (modelGraph == null || !modelGraph.isGraphOf(allDefinitions)) {
+            modelGraph = new ModelGraph(allDefinitions);
         }
-        return false;
+        return modelGraph;
     }
 
     protected void addAdditionPropertiesToCodeGenModel(CodegenModel codegenModel, ModelImpl swaggerModel) {
@@ -1501,9 +1582,8 @@ public class DefaultCodegen {
                 required.addAll(mi.getRequired());
             }
         } else if (model instanceof RefModel) {
-            String interfaceRef = ((RefModel) model).getSimpleRef();
-            Model interfaceModel = allDefinitions.get(interfaceRef);
-            addProperties(properties, required, interfaceModel, allDefinitions);
+            // the properties of a referenced model, including the ones it inherits, are collected once
+            getModelGraph(allDefinitions).addProperties(((RefModel) model).getSimpleRef(), properties, required);
         } else if (model instanceof ComposedModel) {
             for (Model component :((ComposedModel) model).getAllOf()) {
                 addProperties(properties, required, component, allDefinitions);
@@ -1552,7 +1632,11 @@ public class DefaultCodegen {
         }
         property.defaultValue = toDefaultValue(p);
         property.defaultValueWithParam = toDefaultValueWithParam(name, p);
-        property.jsonSchema = Json.pretty(p);
+        if (renderJsonSchema) {
+            property.jsonSchema = Json.pretty(p);
+        } else {
+            property.setJsonSchemaSource(p);
+        }
         if (p.getReadOnly() != null) {
             property.isReadOnly = p.getReadOnly();
         }
@@ -2166,7 +2250,7 @@ public class DefaultCodegen {
                             op.returnBaseType = cm.baseType;
                         }
                     }
-                    op.examples = new ExampleGenerator(definitions).generate(methodResponse.getExamples(), operation.getProduces(), responseProperty);
+                    op.examples = newExampleGenerator(definitions).generate(methodResponse.getExamples(), operation.getProduces(), responseProperty);
                     op.defaultResponse = toDefaultValue(responseProperty);
                     op.returnType = cm.datatype;
                     op.hasReference = definitions != null && definitions.containsKey(op.returnBaseType);
@@ -2247,7 +2331,7 @@ public class DefaultCodegen {
                     bodyParam = p;
                     bodyParams.add(p.copy());
                     if(definitions != null) {
-                        op.requestBodyExamples = new ExampleGenerator(definitions).generate(null, operation.getConsumes(), bodyParam.dataType);
+                        op.requestBodyExamples = newExampleGenerator(definitions).generate(null, operation.getConsumes(), bodyParam.dataType);
                     }
                 } else if (param instanceof FormParameter) {
                     formParams.add(p.copy());
@@ -2327,7 +2411,11 @@ public class DefaultCodegen {
         r.message = escapeText(response.getDescription());
         r.schema = response.getSchema();
         r.examples = toExamples(response.getExamples());
-        r.jsonSchema = Json.pretty(response);
+        if (renderJsonSchema) {
+            r.jsonSchema = Json.pretty(response);
+        } else {
+            r.setJsonSchemaSource(response);
+        }
         r.vendorExtensions = response.getVendorExtensions();
         addHeaders(response, r.headers);
         r.hasHeaders = !r.headers.isEmpty();
@@ -2404,6 +2492,20 @@ public class DefaultCodegen {
         return r;
     }
 
+    /**
+     * Example generator for the definitions of a spec. During a generation, examples rendered for the same
+     * model and media type are shared by all operations.
+     *
+     * @param definitions definitions of the spec
+     * @return example generator
+     */
+    protected ExampleGenerator newExampleGenerator(Map<String, Model> definitions) {
+        if (specIndex != null && definitions == specIndex.getSwagger().getDefinitions()) {
+            return new ExampleGenerator(definitions, renderedExamples);
+        }
+        return new ExampleGenerator(definitions);
+    }
+
     /**
      * Convert Swagger Parameter object to Codegen Parameter object
      *
@@ -2419,7 +2521,11 @@ public class DefaultCodegen {
         if (param.getRequired()) {
             p.required = param.getRequired();
         }
-        p.jsonSchema = Json.pretty(param);
+        if (renderJsonSchema) {
+            p.jsonSchema = Json.pretty(param);
+        } else {
+            p.setJsonSchemaSource(param);
+        }
 
         if (System.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + param.getName());
@@ -3026,21 +3132,7 @@ public class DefaultCodegen {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z])";
-        String secondPattern = "([a-z\\d])([A-Z])";
-        String replacementPattern = "$1_$2";
-        // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-        // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
-        // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
-        word = word.replace('-', '_');
-        // replace space with underscore
-        word = word.replace(' ', '_');
-        word = word.toLowerCase();
-        return word;
+        return NamingService.shared().underscore(word);
     }
 
     /**
@@ -3051,7 +3143,8 @@ public class DefaultCodegen {
      */
     @SuppressWarnings("static-method")
     protected String dashize(String word) {
-        return underscore(word).replaceAll("[_ ]", "-");
+        // underscore has already turned spaces into underscores
+        return underscore(word).replace('_', '-');
     }
 
     /**
@@ -3256,66 +3349,7 @@ public class DefaultCodegen {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
-        // Replace all slashes with dots (package separator)
-        Pattern p = Pattern.compile("\\/(.?)");
-        Matcher m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-            m = p.matcher(word);
-        }
-
-        // case out dots
-        String[] parts = word.split("\\.");
-        StringBuilder f = new StringBuilder();
-        for (String z : parts) {
-            if (z.length() > 0) {
-                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
-            }
-        }
-        word = f.toString();
-
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1)/*.toUpperCase()*/);
-            m = p.matcher(word);
-        }
-
-        // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
-        m = p.matcher(word);
-        if (m.find()) {
-            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
-            rep = rep.replaceAll("\\$", "\\\\\\$");
-            word = m.replaceAll(rep);
-        }
-
-        // Remove all underscores (underscore_case to camelCase)
-        p = Pattern.compile("(_)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            String original = m.group(2);
-            String upperCase = original.toUpperCase();
-            if (original.equals(upperCase)) {
-                word = word.replaceFirst("_", "");
-            } else {
-                word = m.replaceFirst(upperCase);
-            }
-            m = p.matcher(word);
-        }
-
-        // Remove all hyphens (hyphen-case to camelCase)
-        p = Pattern.compile("(-)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst(m.group(2).toUpperCase());
-            m = p.matcher(word);
-        }
-
-        if (lowercaseFirstLetter && word.length() > 0) {
-            word = word.substring(0, 1).toLowerCase() + word.substring(1);
-        }
-
-        return word;
+        return NamingService.shared().camelize(word, lowercaseFirstLetter);
     }
 
     public String apiFilename(String templateName, String tag) {
@@ -3496,52 +3530,15 @@ public class DefaultCodegen {
      */
     @SuppressWarnings("static-method")
     public String sanitizeName(String name) {
-        // NOTE: performance wise, we should have written with 2 replaceAll to replace desired
-        // character with _ or empty character. Below aims to spell out different cases we've
-        // encountered so far and hopefully make it easier for others to add more special
-        // cases in the future.
-
         // better error handling when map/array type is invalid
         if (name == null) {
             LOGGER.error("String to be sanitized is null. Default to ERROR_UNKNOWN");
             return "ERROR_UNKNOWN";
         }
 
-        // if the name is just '$', map it to 'value' for the time being.
-        if ("$".equals(name)) {
-            return "value";
-        }
-
-        // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-
-        // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
-
-        // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
-
-        // input.name => input_name
-        name = name.replaceAll("\\.", "_");
-
-        // input-name => input_name
-        name = name.replaceAll("-", "_");
-
-        // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
-
-        // remove everything else other than word, number and _
-        // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
-            name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
-        }
-        else {
-            name = name.replaceAll("\\W", "");
-        }
-
-        return name;
+        // $ => value, input[] => input, input[a][b] => input_a_b, input(a)(b) => input_a_b, input.name => input_name,
+        // input-name => input_name, input name => input_name, anything else than word, number and _ is removed
+        return NamingService.shared().sanitizeName(name, allowUnicodeIdentifiers);
     }
 
     /**
@@ -3554,7 +3551,7 @@ public class DefaultCodegen {
         tag = camelize(sanitizeName(tag));
 
         // tag starts with numbers
-        if (tag.matches("^\\d.*")) {
+        if (tag.length() > 0 && tag.charAt(0) >= '0' && tag.charAt(0) <= '9') {
             tag = "Class" + tag;
         }
 
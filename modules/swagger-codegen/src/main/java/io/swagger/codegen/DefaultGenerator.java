@@ -4,7 +4,10 @@ import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 import io.swagger.codegen.ignore.CodegenIgnoreProcessor;
 import io.swagger.codegen.languages.AbstractJavaCodegen;
+import io.swagger.codegen.output.FilesystemOutputSink;
+import io.swagger.codegen.output.OutputSink;
 import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.codegen.utils.ModelGraph;
 import io.swagger.models.*;
 import io.swagger.models.auth.OAuth2Definition;
 import io.swagger.models.auth.SecuritySchemeDefinition;
@@ -19,6 +22,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
@@ -38,13 +48,26 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private String basePathWithoutHost;
     private String contextPath;
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
+    private TemplateCache templateCache = new TemplateCache();
+    private Mustache.Compiler templateCompiler;
+    private final ConcurrentMap<String, Template> compiledTemplates = new ConcurrentHashMap<>();
+    private ExecutorService renderPool;
+    private final Map<String, Future<File>> pendingRenders = new LinkedHashMap<>();
+    private FileFingerprints fingerprints;
+    private SpecIndex specIndex;
+    private TemplateReferences supportingFileReferences;
+    private GenerationMetrics metrics = new GenerationMetrics();
+    private final List<GenerationListener> listeners = new ArrayList<GenerationListener>();
 
     @Override
     public Generator opts(ClientOptInput opts) {
         this.opts = opts;
         this.swagger = opts.getSwagger();
         this.config = opts.getConfig();
+        this.metrics = opts.getMetrics();
         this.config.additionalProperties().putAll(opts.getOpts().getProperties());
+        this.templateCompiler = null;
+        this.compiledTemplates.clear();
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
         if (ignoreFileLocation != null) {
@@ -73,6 +96,23 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.generateSwaggerMetadata = generateSwaggerMetadata;
     }
 
+    /**
+     * Use the given cache for template sources, e.g. {@link TemplateCache#shared()} to reuse templates
+     * across generator runs. By default each generator reads templates into its own cache.
+     * @param templateCache cache of template sources
+     */
+    public void setTemplateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    /**
+     * Registers a listener notified of the progress and metrics of the generation.
+     * @param listener the listener
+     */
+    public void addListener(GenerationListener listener) {
+        this.listeners.add(listener);
+    }
+
     /**
      * Set generator properties otherwise pulled from system properties.
      * Useful for running tests in parallel without relying on System.properties.
@@ -303,18 +343,17 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             modelKeys = updatedKeys;
         }
 
-        // store all processed models
+        // store all processed models, parents first
+        final ModelGraph graph = getSpecIndex().getModelGraph();
+        final Map<String, String> classNames = new HashMap<String, String>();
         Map<String, Object> allProcessedModels = new TreeMap<String, Object>(new Comparator<String>() {
             @Override
             public int compare(String o1, String o2) {
-                Model model1 = definitions.get(o1);
-                Model model2 = definitions.get(o2);
-
-                int model1InheritanceDepth = getInheritanceDepth(model1);
-                int model2InheritanceDepth = getInheritanceDepth(model2);
+                int model1InheritanceDepth = graph.getInheritanceDepth(o1);
+                int model2InheritanceDepth = graph.getInheritanceDepth(o2);
 
                 if (model1InheritanceDepth == model2InheritanceDepth) {
-                    return ObjectUtils.compare(config.toModelName(o1), config.toModelName(o2));
+                    return ObjectUtils.compare(toModelName(o1), toModelName(o2));
                 } else if (model1InheritanceDepth > model2InheritanceDepth) {
                     return 1;
                 } else {
@@ -322,35 +361,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
             }
 
-            private int getInheritanceDepth(Model model) {
-                int inheritanceDepth = 0;
-                Model parent = getParent(model);
-
-                while (parent != null) {
-                    inheritanceDepth++;
-                    parent = getParent(parent);
+            private String toModelName(String name) {
+                String modelName = classNames.get(name);
+                if (modelName == null) {
+                    modelName = config.toModelName(name);
+                    classNames.put(name, modelName);
                 }
-
-                return inheritanceDepth;
-            }
-
-            private Model getParent(Model model) {
-                if (model instanceof ComposedModel) {
-                    Model parent = ((ComposedModel) model).getParent();
-                    if (parent == null) {
-                        // check for interfaces
-                        List<RefModel> interfaces = ((ComposedModel) model).getInterfaces();
-                        if (interfaces.size() > 0) {
-                            RefModel interf = interfaces.get(0);
-                            return definitions.get(interf.getSimpleRef());
-                        }
-                    }
-                    if (parent != null) {
-                        return definitions.get(parent.getReference());
-                    }
-                }
-
-                return null;
+                return modelName;
             }
         });
 
@@ -365,7 +382,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 Model model = definitions.get(name);
                 Map<String, Model> modelMap = new HashMap<String, Model>();
                 modelMap.put(name, model);
+                long start = System.nanoTime();
                 Map<String, Object> models = processModels(config, modelMap, definitions);
+                metrics.record(GenerationMetrics.FROM_MODEL, System.nanoTime() - start);
                 models.put("classname", config.toModelName(name));
                 models.putAll(config.additionalProperties());
                 allProcessedModels.put(name, models);
@@ -375,11 +394,20 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
 
         // post process all processed models
+        long postProcessStart = System.nanoTime();
         allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        metrics.record(GenerationMetrics.POST_PROCESS_ALL_MODELS, System.nanoTime() - postProcessStart);
 
         // generate files based on processed models
-        for (String modelName : allProcessedModels.keySet()) {
-            Map<String, Object> models = (Map<String, Object>) allProcessedModels.get(modelName);
+        Iterator<Map.Entry<String, Object>> processedModels = allProcessedModels.entrySet().iterator();
+        while (processedModels.hasNext()) {
+            Map.Entry<String, Object> processedModel = processedModels.next();
+            String modelName = processedModel.getKey();
+            Map<String, Object> models = (Map<String, Object>) processedModel.getValue();
+            if (supportingFileReferences != null) {
+                // only the model template, kept in allModels, is needed once the files are written
+                processedModels.remove();
+            }
             models.put("modelPackage", config.modelPackage());
             try {
                 //don't generate models that have an import mapping
@@ -416,10 +444,14 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     // to generate model documentation files
                     generateModelDocumentation(files, models, modelName);
                 }
+                if (supportingFileReferences != null) {
+                    awaitRenders();
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
         }
+        awaitRenders();
         if (System.getProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
@@ -446,6 +478,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
             paths = updatedPaths;
         }
+        // process all operations before rendering, so that post-processing never races with template execution,
+        // unless streaming: then each api is written, and its renders awaited, before the next is processed
+        Map<String, Map<String, Object>> operationsByTag = new LinkedHashMap<String, Map<String, Object>>();
+        List<CodegenOperation> sharedOperations = new ArrayList<CodegenOperation>();
         for (String tag : paths.keySet()) {
             try {
                 List<CodegenOperation> ops = paths.get(tag);
@@ -455,7 +491,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         return ObjectUtils.compare(one.operationId, another.operationId);
                     }
                 });
+                long start = System.nanoTime();
                 Map<String, Object> operation = processOperations(config, tag, ops, allModels);
+                metrics.record(GenerationMetrics.POST_PROCESS_OPERATIONS, System.nanoTime() - start);
 
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", basePathWithoutHost);
@@ -491,62 +529,105 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     }
                 }
 
-                for (String templateName : config.apiTemplateFiles().keySet()) {
-                    String filename = config.apiFilename(templateName, tag);
-                    if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
-                        LOGGER.info("Skipped overwriting " + filename);
-                        continue;
-                    }
-
-                    File written = processTemplateToFile(operation, templateName, filename);
-                    if (written != null) {
-                        files.add(written);
-                    }
+                if (supportingFileReferences != null) {
+                    generateApiFiles(files, tag, operation);
+                    awaitRenders();
+                    releaseOperations(operation, sharedOperations);
+                } else {
+                    operationsByTag.put(tag, operation);
                 }
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+            }
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : operationsByTag.entrySet()) {
+            try {
+                generateApiFiles(files, entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate api file for '" + entry.getKey() + "'", e);
+            }
+        }
+        awaitRenders();
+        if (supportingFileReferences != null) {
+            supportingFileReferences.trimOperations(sharedOperations);
+        }
+        if (System.getProperty("debugOperations") != null) {
+            LOGGER.info("############ Operation info ############");
+            Json.prettyPrint(allOperations);
+        }
 
-                if (generateApiTests) {
-                    // to generate api test files
-                    for (String templateName : config.apiTestTemplateFiles().keySet()) {
-                        String filename = config.apiTestFilename(templateName, tag);
-                        // do not overwrite test file that already exists
-                        if (new File(filename).exists()) {
-                            LOGGER.info("File exists. Skipped overwriting " + filename);
-                            continue;
-                        }
+    }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
-                    }
+    private void generateApiFiles(List<File> files, String tag, Map<String, Object> operation) throws IOException {
+        for (String templateName : config.apiTemplateFiles().keySet()) {
+            String filename = config.apiFilename(templateName, tag);
+            if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
+                LOGGER.info("Skipped overwriting " + filename);
+                continue;
+            }
+
+            File written = processTemplateToFile(operation, templateName, filename);
+            if (written != null) {
+                files.add(written);
+            }
+        }
+
+        if (generateApiTests) {
+            // to generate api test files
+            for (String templateName : config.apiTestTemplateFiles().keySet()) {
+                String filename = config.apiTestFilename(templateName, tag);
+                // do not overwrite test file that already exists
+                if (new File(filename).exists()) {
+                    LOGGER.info("File exists. Skipped overwriting " + filename);
+                    continue;
                 }
 
+                File written = processTemplateToFile(operation, templateName, filename);
+                if (written != null) {
+                    files.add(written);
+                }
+            }
+        }
 
-                if (generateApiDocumentation) {
-                    // to generate api documentation files
-                    for (String templateName : config.apiDocTemplateFiles().keySet()) {
-                        String filename = config.apiDocFilename(templateName, tag);
-                        if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
-                            LOGGER.info("Skipped overwriting " + filename);
-                            continue;
-                        }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
-                    }
+        if (generateApiDocumentation) {
+            // to generate api documentation files
+            for (String templateName : config.apiDocTemplateFiles().keySet()) {
+                String filename = config.apiDocFilename(templateName, tag);
+                if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
+                    LOGGER.info("Skipped overwriting " + filename);
+                    continue;
                 }
 
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+                File written = processTemplateToFile(operation, templateName, filename);
+                if (written != null) {
+                    files.add(written);
+                }
             }
         }
-        if (System.getProperty("debugOperations") != null) {
-            LOGGER.info("############ Operation info ############");
-            Json.prettyPrint(allOperations);
-        }
+    }
 
+    /**
+     * Releases what supporting files do not need of the operations of a written api. Operations grouped under
+     * several tags are copies sharing some of their parameters' data, they are only released once all apis
+     * have been written.
+     */
+    @SuppressWarnings("unchecked")
+    private void releaseOperations(Map<String, Object> operation, List<CodegenOperation> sharedOperations) {
+        Map<String, Object> objs = (Map<String, Object>) operation.get("operations");
+        List<CodegenOperation> ops = objs == null ? null : (List<CodegenOperation>) objs.get("operation");
+        if (ops == null) {
+            return;
+        }
+        List<CodegenOperation> released = new ArrayList<CodegenOperation>();
+        for (CodegenOperation op : ops) {
+            if (op.tags != null && op.tags.size() > 1) {
+                sharedOperations.add(op);
+            } else {
+                released.add(op);
+            }
+        }
+        supportingFileReferences.trimOperations(released);
     }
 
     private void generateSupportingFiles(List<File> files, Map<String, Object> bundle) {
@@ -565,10 +646,6 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 if (StringUtils.isNotEmpty(support.folder)) {
                     outputFolder += File.separator + support.folder;
                 }
-                File of = new File(outputFolder);
-                if (!of.isDirectory()) {
-                    of.mkdirs();
-                }
                 String outputFilename = outputFolder + File.separator + support.destinationFilename.replace('/', File.separatorChar);
                 if (!config.shouldOverwrite(outputFilename)) {
                     LOGGER.info("Skipped overwriting " + outputFilename);
@@ -589,21 +666,14 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
 
                 if (ignoreProcessor.allowsFile(new File(outputFilename))) {
+                    if (fingerprints != null && !fingerprints.changed(outputFilename, fingerprints.fingerprint(outputFilename, templateFile, bundle))) {
+                        LOGGER.info("Skipped unchanged " + outputFilename);
+                        continue;
+                    }
                     if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
+                        Template tmpl = getTemplate(templateFile);
+
+                        renderToFile(support.templateFile, outputFilename, tmpl, bundle);
                         files.add(new File(outputFilename));
                     } else {
                         InputStream in = null;
@@ -617,14 +687,14 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                             in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
                         }
                         File outputFile = new File(outputFilename);
-                        OutputStream out = new FileOutputStream(outputFile, false);
+                        OutputStream out = getOutputSink().newOutputStream(outputFilename);
                         if (in != null) {
                             LOGGER.info("writing file " + outputFile);
                             IOUtils.copy(in, out);
-                            out.close();
                         } else {
                             LOGGER.error("can't open " + templateFile + " for input");
                         }
+                        out.close();
                         files.add(outputFile);
                     }
                 } else {
@@ -733,26 +803,146 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (swagger == null || config == null) {
             throw new RuntimeException("missing swagger input or config!");
         }
+        long start = System.nanoTime();
+        metrics.reset();
+        OutputSink outputSink = getOutputSink();
+        config.setOutputSink(outputSink);
         configureGeneratorProperties();
         configureSwaggerInfo();
 
         // resolve inline models
+        long phaseStart = System.nanoTime();
         InlineModelResolver inlineModelResolver = new InlineModelResolver();
+        inlineModelResolver.setMergeInlineModels(opts.isMergeInlineModels());
         inlineModelResolver.flatten(swagger);
+        phaseCompleted(GenerationMetrics.FLATTEN, phaseStart);
+        specIndex = new SpecIndex(swagger);
+        config.setSpecIndex(specIndex);
+
+        if (opts.isIncremental()) {
+            if (!(getOutputSink() instanceof FilesystemOutputSink)) {
+                LOGGER.warn("Incremental generation only applies to files written to disk, all files will be generated");
+            } else if (generateSwaggerMetadata) {
+                fingerprints = FileFingerprints.load(this, config);
+            } else {
+                LOGGER.warn("Incremental generation needs the .swagger-codegen metadata folder, all files will be generated");
+            }
+        }
+        if (opts.getWorkers() > 1) {
+            renderPool = new ForkJoinPool(opts.getWorkers());
+        }
+        if (opts.isStreaming()) {
+            supportingFileReferences = collectSupportingFileReferences();
+        }
+        setOutputSink(new MeteredOutputSink(outputSink, metrics));
+        config.setOutputSink(getOutputSink());
+        try {
+            List<File> files = new ArrayList<File>();
+            // models
+            phaseStart = System.nanoTime();
+            List<Object> allModels = new ArrayList<Object>();
+            generateModels(files, allModels);
+            boolean modelsReleased = false;
+            if (supportingFileReferences != null && !postProcessesOperationsWithModels()) {
+                supportingFileReferences.trim(allModels);
+                modelsReleased = true;
+            }
+            phaseCompleted(GenerationMetrics.MODELS, phaseStart);
+            // apis
+            phaseStart = System.nanoTime();
+            List<Object> allOperations = new ArrayList<Object>();
+            generateApis(files, allOperations, allModels);
+            if (supportingFileReferences != null && !modelsReleased) {
+                supportingFileReferences.trim(allModels);
+            }
+            phaseCompleted(GenerationMetrics.APIS, phaseStart);
+
+            // supporting files
+            phaseStart = System.nanoTime();
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+            metrics.record(GenerationMetrics.SUPPORTING_FILE_BUNDLE, System.nanoTime() - phaseStart);
+            generateSupportingFiles(files, bundle);
+            phaseCompleted(GenerationMetrics.SUPPORTING_FILES, phaseStart);
+            if (fingerprints != null) {
+                try {
+                    files.add(fingerprints.save());
+                } catch (IOException e) {
+                    throw new RuntimeException("Could not generate supporting file '" + FileFingerprints.LOCATION + "'", e);
+                }
+            }
+            config.processSwagger(swagger);
+            setOutputSink(outputSink);
+            metrics.record(GenerationMetrics.TOTAL, System.nanoTime() - start);
+            if (opts.isTimings() && generateSwaggerMetadata) {
+                String timingsFile = config.outputFolder() + File.separator + GenerationMetrics.LOCATION.replace('/', File.separatorChar);
+                try {
+                    files.add(writeToFile(timingsFile, metrics.toJson()));
+                } catch (IOException e) {
+                    throw new RuntimeException("Could not generate supporting file '" + GenerationMetrics.LOCATION + "'", e);
+                }
+            }
+            for (GenerationListener listener : listeners) {
+                listener.generationCompleted(metrics);
+            }
+            return files;
+        } finally {
+            setOutputSink(outputSink);
+            config.setOutputSink(outputSink);
+            config.setSpecIndex(null);
+            fingerprints = null;
+            supportingFileReferences = null;
+            if (renderPool != null) {
+                renderPool.shutdownNow();
+                renderPool = null;
+            }
+            pendingRenders.clear();
+        }
+    }
 
-        List<File> files = new ArrayList<File>();
-        // models
-        List<Object> allModels = new ArrayList<Object>();
-        generateModels(files, allModels);
-        // apis
-        List<Object> allOperations = new ArrayList<Object>();
-        generateApis(files, allOperations, allModels);
-
-        // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
-        generateSupportingFiles(files, bundle);
-        config.processSwagger(swagger);
-        return files;
+    /**
+     * Collects the names used by the supporting file templates, which decide what streaming generation keeps
+     * of the models and operations.
+     */
+    private TemplateReferences collectSupportingFileReferences() {
+        TemplateReferences references = new TemplateReferences(new TemplateReferences.PartialLoader() {
+            @Override
+            public String load(String name) {
+                return readCachedTemplate(getFullTemplateFile(config, name + ".mustache"));
+            }
+        });
+        for (SupportingFile support : config.supportingFiles()) {
+            String templateFile;
+            if (support instanceof GlobalSupportingFile) {
+                templateFile = config.getCommonTemplateDir() + File.separator + support.templateFile;
+            } else {
+                templateFile = getFullTemplateFile(config, support.templateFile);
+            }
+            if (templateFile.endsWith("mustache")) {
+                references.addTemplate(readCachedTemplate(templateFile));
+            }
+        }
+        return references;
+    }
+
+    /**
+     * @return true if the config may read the models when post-processing operations, in which case streaming
+     * generation only releases them once all apis have been written
+     */
+    private boolean postProcessesOperationsWithModels() {
+        try {
+            return config.getClass().getMethod("postProcessOperationsWithModels", Map.class, List.class)
+                    .getDeclaringClass() != DefaultCodegen.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    private void phaseCompleted(String phase, long start) {
+        long nanos = System.nanoTime() - start;
+        metrics.record(phase, nanos);
+        for (GenerationListener listener : listeners) {
+            listener.phaseCompleted(phase, nanos);
+        }
     }
 
 
@@ -760,25 +950,116 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
         if (ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
             String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
-            Mustache.Compiler compiler = Mustache.compiler();
-            compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
+            if (fingerprints != null && !fingerprints.changed(adjustedOutputFilename, fingerprints.fingerprint(adjustedOutputFilename, templateFile, templateData))) {
+                LOGGER.info("Skipped unchanged " + adjustedOutputFilename);
+                return null;
+            }
+            Template tmpl = getTemplate(templateFile);
+
+            submitRender(templateName, adjustedOutputFilename, tmpl, templateData);
+            return new File(adjustedOutputFilename);
+        }
+
+        LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
+        return null;
+    }
+
+    /**
+     * Returns the compiled template for a resolved template file, compiling it on first use in this run.
+     */
+    private Template getTemplate(String templateFile) {
+        Template tmpl = compiledTemplates.get(templateFile);
+        if (tmpl == null) {
+            String source = readCachedTemplate(templateFile);
+            long start = System.nanoTime();
+            Template compiled = getTemplateCompiler().compile(source);
+            metrics.record(GenerationMetrics.TEMPLATE_COMPILE, System.nanoTime() - start);
+            tmpl = compiledTemplates.putIfAbsent(templateFile, compiled);
+            if (tmpl == null) {
+                tmpl = compiled;
+            }
+        }
+        return tmpl;
+    }
+
+    private String readCachedTemplate(String templateFile) {
+        String source = templateCache.get(templateFile);
+        if (source == null) {
+            source = templateCache.put(templateFile, readTemplate(templateFile));
+        }
+        return source;
+    }
+
+    private Mustache.Compiler getTemplateCompiler() {
+        if (templateCompiler == null) {
+            templateCompiler = config.processCompiler(Mustache.compiler())
                     .withLoader(new Mustache.TemplateLoader() {
                         @Override
                         public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
+                            return new StringReader(readCachedTemplate(getFullTemplateFile(config, name + ".mustache")));
                         }
                     })
-                    .defaultValue("")
-                    .compile(template);
+                    .defaultValue("");
+        }
+        return templateCompiler;
+    }
 
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
-            return new File(adjustedOutputFilename);
+    /**
+     * Executes a compiled template and writes the result, either right away or on the render pool
+     * when parallel generation is enabled. Renders targeting the same file are kept in submission order.
+     */
+    private void submitRender(final String templateName, final String filename, final Template tmpl, final Map<String, Object> templateData) throws IOException {
+        if (renderPool == null) {
+            renderToFile(templateName, filename, tmpl, templateData);
+            return;
+        }
+        Future<File> previous = pendingRenders.remove(filename);
+        if (previous != null) {
+            awaitRender(filename, previous);
+        }
+        pendingRenders.put(filename, renderPool.submit(new Callable<File>() {
+            @Override
+            public File call() throws Exception {
+                return renderToFile(templateName, filename, tmpl, templateData);
+            }
+        }));
+    }
+
+    private File renderToFile(String templateName, String filename, Template tmpl, Map<String, Object> templateData) throws IOException {
+        long start = System.nanoTime();
+        metrics.renderStarted(filename);
+        try {
+            File written = writeToFile(filename, tmpl, templateData);
+            metrics.recordRender(templateName, filename, System.nanoTime() - start);
+            return written;
+        } catch (IOException | RuntimeException e) {
+            metrics.renderFailed(filename);
+            throw e;
         }
+    }
 
-        LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
-        return null;
+    /**
+     * Waits for all pending renders, surfacing the first failure in submission order.
+     */
+    private void awaitRenders() {
+        try {
+            for (Map.Entry<String, Future<File>> entry : pendingRenders.entrySet()) {
+                awaitRender(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            pendingRenders.clear();
+        }
+    }
+
+    private static void awaitRender(String filename, Future<File> render) {
+        try {
+            render.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating file '" + filename + "'", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Could not generate file '" + filename + "'", e.getCause());
+        }
     }
 
     private static void processMimeTypes(List<String> mimeTypeList, Map<String, Object> operation, String source) {
@@ -829,27 +1110,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         List<Tag> tags = new ArrayList<Tag>();
 
         List<String> tagNames = operation.getTags();
-        List<Tag> swaggerTags = swagger.getTags();
         if (tagNames != null) {
-            if (swaggerTags == null) {
-                for (String tagName : tagNames) {
-                    tags.add(new Tag().name(tagName));
-                }
-            } else {
-                for (String tagName : tagNames) {
-                    boolean foundTag = false;
-                    for (Tag tag : swaggerTags) {
-                        if (tag.getName().equals(tagName)) {
-                            tags.add(tag);
-                            foundTag = true;
-                            break;
-                        }
-                    }
-
-                    if (!foundTag) {
-                        tags.add(new Tag().name(tagName));
-                    }
-                }
+            for (String tagName : tagNames) {
+                Tag tag = getSpecIndex().getTag(tagName);
+                tags.add(tag != null ? tag : new Tag().name(tagName));
             }
         }
 
@@ -862,15 +1126,14 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
          per the swagger 2.0 spec "A unique parameter is defined by a combination of a name and location"
           i'm assuming "location" == "in"
         */
-        Set<String> operationParameters = new HashSet<String>();
-        if (operation.getParameters() != null) {
-            for (Parameter parameter : operation.getParameters()) {
-                operationParameters.add(generateParameterId(parameter));
-            }
-        }
-
         //need to propagate path level down to the operation
-        if (path.getParameters() != null) {
+        if (path.getParameters() != null && !path.getParameters().isEmpty()) {
+            Set<String> operationParameters = new HashSet<String>();
+            if (operation.getParameters() != null) {
+                for (Parameter parameter : operation.getParameters()) {
+                    operationParameters.add(generateParameterId(parameter));
+                }
+            }
             for (Parameter parameter : path.getParameters()) {
                 //skip propagation if a parameter with the same name is already defined at the operation level
                 if (!operationParameters.contains(generateParameterId(parameter))) {
@@ -879,63 +1142,84 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
         }
 
-        for (Tag tag : tags) {
-            try {
-                CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
-                codegenOperation.tags = new ArrayList<Tag>(tags);
-                config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
-
-                List<Map<String, List<String>>> securities = operation.getSecurity();
-                if (securities == null && swagger.getSecurity() != null) {
-                    securities = new ArrayList<Map<String, List<String>>>();
-                    for (SecurityRequirement sr : swagger.getSecurity()) {
-                        securities.add(sr.getRequirements());
-                    }
-                }
-                if (securities == null || swagger.getSecurityDefinitions() == null) {
+        try {
+            long start = System.nanoTime();
+            CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
+            metrics.record(GenerationMetrics.FROM_OPERATION, System.nanoTime() - start);
+            codegenOperation.tags = new ArrayList<Tag>(tags);
+
+            Map<String, SecuritySchemeDefinition> authMethods = getAuthMethods(operation);
+            if (authMethods != null && !authMethods.isEmpty()) {
+                codegenOperation.authMethods = config.fromSecurity(authMethods);
+                codegenOperation.hasAuthMethods = true;
+            }
+
+            // converted once; every other tag gets a copy, taken before any group sees the operation, since
+            // groups are post-processed separately
+            List<CodegenOperation> groupOperations = new ArrayList<CodegenOperation>();
+            for (int i = 0; i < tags.size(); i++) {
+                groupOperations.add(i == 0 ? codegenOperation : codegenOperation.copy());
+            }
+            for (int i = 0; i < tags.size(); i++) {
+                config.addOperationToGroup(config.sanitizeTag(tags.get(i).getName()), resourcePath, operation, groupOperations.get(i), operations);
+            }
+        } catch (Exception ex) {
+            String msg = "Could not process operation:\n" //
+                    + "  Tags: " + tags + "\n"//
+                    + "  Operation: " + operation.getOperationId() + "\n" //
+                    + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
+                    + "  Definitions: " + swagger.getDefinitions() + "\n"  //
+                    + "  Exception: " + ex.getMessage();
+            throw new RuntimeException(msg, ex);
+        }
+    }
+
+    // built by generate() once inline models are resolved, or on first use when paths are processed directly
+    private SpecIndex getSpecIndex() {
+        if (specIndex == null || specIndex.getSwagger() != swagger) {
+            specIndex = new SpecIndex(swagger);
+        }
+        return specIndex;
+    }
+
+    private Map<String, SecuritySchemeDefinition> getAuthMethods(Operation operation) {
+        List<Map<String, List<String>>> securities = operation.getSecurity();
+        if (securities == null && swagger.getSecurity() != null) {
+            securities = new ArrayList<Map<String, List<String>>>();
+            for (SecurityRequirement sr : swagger.getSecurity()) {
+                securities.add(sr.getRequirements());
+            }
+        }
+        if (securities == null || swagger.getSecurityDefinitions() == null) {
+            return null;
+        }
+        Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
+        for (Map<String, List<String>> security : securities) {
+            for (String securityName : security.keySet()) {
+                SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
+                if (securityDefinition == null) {
                     continue;
                 }
-                Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
-                for (Map<String, List<String>> security : securities) {
-                    for (String securityName : security.keySet()) {
-                        SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
-                        if (securityDefinition == null) {
-                            continue;
-                        }
-                        if (securityDefinition instanceof OAuth2Definition) {
-                            OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
-                            OAuth2Definition oauth2Operation = new OAuth2Definition();
-                            oauth2Operation.setType(oauth2Definition.getType());
-                            oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
-                            oauth2Operation.setFlow(oauth2Definition.getFlow());
-                            oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
-                            oauth2Operation.setScopes(new HashMap<String, String>());
-                            for (String scope : security.get(securityName)) {
-                                if (oauth2Definition.getScopes().containsKey(scope)) {
-                                    oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
-                                }
-                            }
-                            authMethods.put(securityName, oauth2Operation);
-                        } else {
-                            authMethods.put(securityName, securityDefinition);
+                if (securityDefinition instanceof OAuth2Definition) {
+                    OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
+                    OAuth2Definition oauth2Operation = new OAuth2Definition();
+                    oauth2Operation.setType(oauth2Definition.getType());
+                    oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
+                    oauth2Operation.setFlow(oauth2Definition.getFlow());
+                    oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
+                    oauth2Operation.setScopes(new HashMap<String, String>());
+                    for (String scope : security.get(securityName)) {
+                        if (oauth2Definition.getScopes().containsKey(scope)) {
+                            oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
                         }
                     }
+                    authMethods.put(securityName, oauth2Operation);
+                } else {
+                    authMethods.put(securityName, securityDefinition);
                 }
-                if (!authMethods.isEmpty()) {
-                    codegenOperation.authMethods = config.fromSecurity(authMethods);
-                    codegenOperation.hasAuthMethods = true;
-                }
-            } catch (Exception ex) {
-                String msg = "Could not process operation:\n" //
-                        + "  Tag: " + tag + "\n"//
-                        + "  Operation: " + operation.getOperationId() + "\n" //
-                        + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
-                        + "  Definitions: " + swagger.getDefinitions() + "\n"  //
-                        + "  Exception: " + ex.getMessage();
-                throw new RuntimeException(msg, ex);
             }
         }
-
+        return authMethods;
     }
 
     private static String generateParameterId(Parameter parameter) {
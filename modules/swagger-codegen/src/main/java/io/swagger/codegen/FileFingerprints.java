@@ -0,0 +1,358 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.samskivert.mustache.Mustache;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.codegen.utils.Sha256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fingerprints of the inputs that fed each generated file, used by incremental generation to skip files whose
+ * inputs did not change since the previous run.
+ * <p>
+ * A fingerprint covers the swagger-codegen version, the generator and its template folders (including the
+ * content of a custom template folder), the main template and the data it is rendered with. Embedded templates
+ * pulled in as partials are identified by the swagger-codegen version. The values of {@link #VOLATILE_KEYS}
+ * (e.g. the generation date) are left out, so that they alone do not trigger a rewrite.
+ * <p>
+ * Fingerprints are stored in {@value #LOCATION} below the output folder.
+ */
+public class FileFingerprints {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileFingerprints.class);
+
+    public static final String LOCATION = ".swagger-codegen/FINGERPRINTS";
+
+    /**
+     * Template data entries that change on every run without affecting the generated code in a meaningful way.
+     */
+    public static final Set<String> VOLATILE_KEYS = Collections.unmodifiableSet(
+            new HashSet<String>(Arrays.asList("generatedDate", "generatedYear")));
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<Class<?>, List<Field>>();
+
+    private final File outputFolder;
+    private final Map<String, String> previous;
+    private final Map<String, String> current = new TreeMap<String, String>();
+    private final String generatorFingerprint;
+    // the data of a model or an api is rendered by several templates in a row, only the latest is kept so that
+    // streaming generation can release the data once its files are written
+    private Object lastData;
+    private String lastDataDigest;
+    private final Map<String, String> templateDigests = new HashMap<String, String>();
+    private final AbstractGenerator generator;
+
+    FileFingerprints(AbstractGenerator generator, CodegenConfig config, Map<String, String> previous) {
+        this.generator = generator;
+        this.outputFolder = new File(config.outputFolder()).getAbsoluteFile();
+        this.previous = previous;
+        this.generatorFingerprint = Sha256.digest(ImplementationVersion.read(), config.getClass().getName(),
+                config.templateDir(), config.embeddedTemplateDir(), config.getLibrary(),
+                folderDigest(new File(config.templateDir())));
+    }
+
+    /**
+     * Loads the fingerprints recorded by the previous run into the output folder of the given config.
+     *
+     * @param generator generator reading the templates
+     * @param config    codegen config of this run
+     * @return fingerprints of the previous run, empty if there are none
+     */
+    public static FileFingerprints load(AbstractGenerator generator, CodegenConfig config) {
+        Map<String, String> previous = new HashMap<String, String>();
+        File file = new File(config.outputFolder(), LOCATION);
+        if (file.isFile()) {
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int separator = line.indexOf(' ');
+                        if (separator > 0) {
+                            previous.put(line.substring(separator + 1), line.substring(0, separator));
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read " + file + ", all files will be generated", e);
+                previous.clear();
+            }
+        }
+        return new FileFingerprints(generator, config, previous);
+    }
+
+    /**
+     * Computes the fingerprint of a file rendered from a template.
+     *
+     * @param filename     output file
+     * @param templateFile resolved template file
+     * @param templateData data the template is rendered with
+     * @return fingerprint
+     */
+    public String fingerprint(String filename, String templateFile, Object templateData) {
+        return Sha256.digest(generatorFingerprint, relativePath(filename), templateFile,
+                templateDigest(templateFile), dataDigest(templateData));
+    }
+
+    /**
+     * Records the fingerprint of a file for this run.
+     *
+     * @param filename    output file
+     * @param fingerprint fingerprint of its inputs
+     * @return true if the file has to be generated, false if it exists and was generated from the same inputs
+     */
+    public boolean changed(String filename, String fingerprint) {
+        String path = relativePath(filename);
+        current.put(path, fingerprint);
+        return !fingerprint.equals(previous.get(path)) || !new File(filename).exists();
+    }
+
+    /**
+     * Writes the fingerprints of this run. Fingerprints of files not generated in this run (e.g. because only
+     * some models were selected) are kept.
+     *
+     * @return the fingerprints file
+     * @throws IOException if the file can't be written
+     */
+    public File save() throws IOException {
+        Map<String, String> all = new TreeMap<String, String>(previous);
+        all.putAll(current);
+        File file = new File(outputFolder, LOCATION);
+        file.getParentFile().mkdirs();
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+        try {
+            for (Map.Entry<String, String> entry : all.entrySet()) {
+                out.write(entry.getValue());
+                out.write(' ');
+                out.write(entry.getKey());
+                out.write('\n');
+            }
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private String relativePath(String filename) {
+        String path = new File(filename).getAbsoluteFile().toURI().getPath();
+        String base = outputFolder.toURI().getPath();
+        if (!base.endsWith("/")) {
+            base += "/";
+        }
+        return path.startsWith(base) ? path.substring(base.length()) : path;
+    }
+
+    private String templateDigest(String templateFile) {
+        String digest = templateDigests.get(templateFile);
+        if (digest == null) {
+            digest = templateFile.endsWith("mustache") ? Sha256.digest(generator.readTemplate(templateFile)) : "";
+            templateDigests.put(templateFile, digest);
+        }
+        return digest;
+    }
+
+    private String dataDigest(Object data) {
+        if (data != lastData || lastDataDigest == null) {
+            Hasher hasher = new Hasher();
+            hasher.value(data);
+            lastDataDigest = hasher.hex();
+            lastData = data;
+        }
+        return lastDataDigest;
+    }
+
+    private static String folderDigest(File folder) {
+        if (!folder.isDirectory()) {
+            return "";
+        }
+        final MessageDigest md = Sha256.newDigest();
+        List<File> files = new ArrayList<File>();
+        listFiles(folder, files);
+        String base = folder.toURI().getPath();
+        for (File file : files) {
+            Sha256.update(md, file.toURI().getPath().substring(base.length()));
+            try {
+                md.update(Files.readAllBytes(file.toPath()));
+            } catch (IOException e) {
+                Sha256.update(md, "unreadable");
+            }
+        }
+        return Sha256.hex(md.digest());
+    }
+
+    private static void listFiles(File folder, List<File> files) {
+        File[] children = folder.listFiles();
+        if (children == null) {
+            return;
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            if (child.isDirectory()) {
+                listFiles(child, files);
+            } else {
+                files.add(child);
+            }
+        }
+    }
+
+    /**
+     * Walks template data (maps, collections and the fields of codegen and swagger model objects) into a digest.
+     * Objects reached again, including through cycles such as parent/child models, are digested as references.
+     */
+    static class Hasher {
+        private final MessageDigest md = Sha256.newDigest();
+        private final Map<Object, Integer> seen = new IdentityHashMap<Object, Integer>();
+
+        String hex() {
+            return Sha256.hex(md.digest());
+        }
+
+        void value(Object value) {
+            if (value == null) {
+                Sha256.update(md, null);
+                return;
+            }
+            Class<?> type = value.getClass();
+            if (value instanceof String || value instanceof Number || value instanceof Boolean
+                    || value instanceof Character || value instanceof Enum || value instanceof Class) {
+                Sha256.update(md, type.getName());
+                Sha256.update(md, value instanceof Class ? ((Class<?>) value).getName() : value.toString());
+                return;
+            }
+            Integer ref = seen.get(value);
+            if (ref != null) {
+                Sha256.update(md, "@ref");
+                Sha256.update(md, ref.toString());
+                return;
+            }
+            seen.put(value, seen.size());
+            Sha256.update(md, type.getName());
+
+            if (value instanceof Map) {
+                map((Map<?, ?>) value);
+            } else if (value instanceof List || value instanceof SortedSet || value instanceof LinkedHashSet) {
+                for (Object element : (Collection<?>) value) {
+                    value(element);
+                }
+            } else if (value instanceof Collection) {
+                unordered((Collection<?>) value);
+            } else if (type.isArray()) {
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) {
+                    value(Array.get(value, i));
+                }
+            } else if (value instanceof JsonNode) {
+                Sha256.update(md, value.toString());
+            } else if (value instanceof Mustache.Lambda || value instanceof CodegenConfig) {
+                // identified by their class
+            } else if (type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+                Sha256.update(md, value.toString());
+            } else {
+                for (Field field : fields(type)) {
+                    Sha256.update(md, field.getName());
+                    try {
+                        value(field.get(value));
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+
+        private void map(Map<?, ?> map) {
+            Collection<? extends Map.Entry<?, ?>> entries = map.entrySet();
+            if (!(map instanceof SortedMap) && !(map instanceof LinkedHashMap)) {
+                List<Map.Entry<?, ?>> sorted = new ArrayList<Map.Entry<?, ?>>(map.entrySet());
+                Collections.sort(sorted, new Comparator<Map.Entry<?, ?>>() {
+                    @Override
+                    public int compare(Map.Entry<?, ?> one, Map.Entry<?, ?> another) {
+                        return String.valueOf(one.getKey()).compareTo(String.valueOf(another.getKey()));
+                    }
+                });
+                entries = sorted;
+            }
+            for (Map.Entry<?, ?> entry : entries) {
+                if (VOLATILE_KEYS.contains(entry.getKey())) {
+                    continue;
+                }
+                value(entry.getKey());
+                value(entry.getValue());
+            }
+        }
+
+        private void unordered(Collection<?> collection) {
+            List<String> digests = new ArrayList<String>(collection.size());
+            for (Object element : collection) {
+                Hasher hasher = new Hasher();
+                hasher.value(element);
+                digests.add(hasher.hex());
+            }
+            Collections.sort(digests);
+            for (String digest : digests) {
+                Sha256.update(md, digest);
+            }
+        }
+
+        private static List<Field> fields(Class<?> type) {
+            List<Field> fields = FIELDS.get(type);
+            if (fields == null) {
+                fields = new ArrayList<Field>();
+                for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                    List<Field> declared = new ArrayList<Field>();
+                    for (Field field : c.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                            continue;
+                        }
+                        field.setAccessible(true);
+                        declared.add(field);
+                    }
+                    Collections.sort(declared, new Comparator<Field>() {
+                        @Override
+                        public int compare(Field one, Field another) {
+                            return one.getName().compareTo(another.getName());
+                        }
+                    });
+                    fields.addAll(declared);
+                }
+                FIELDS.put(type, fields);
+            }
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.swagger.codegen;
+
+/**
+ * Receives progress and metrics of a generation, see {@link DefaultGenerator#addListener(GenerationListener)}.
+ */
+public interface GenerationListener {
+
+    /**
+     * Called on the generating thread when one of the main phases completed: {@link GenerationMetrics#FLATTEN},
+     * {@link GenerationMetrics#MODELS}, {@link GenerationMetrics#APIS} or {@link GenerationMetrics#SUPPORTING_FILES}.
+     *
+     * @param phase name of the phase
+     * @param nanos wall time of the phase
+     */
+    void phaseCompleted(String phase, long nanos);
+
+    /**
+     * Called once all files have been generated.
+     *
+     * @param metrics metrics of the whole generation
+     */
+    void generationCompleted(GenerationMetrics metrics);
+}
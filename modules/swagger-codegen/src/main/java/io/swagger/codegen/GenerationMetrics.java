@@ -0,0 +1,248 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.util.Json;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wall time, counts and bytes written of the phases of a generation, per phase and per template.
+ * <p>
+ * Phases recorded by the generator: {@link #PARSE}, {@link #FLATTEN}, {@link #MODELS} (with {@link #FROM_MODEL}
+ * and {@link #POST_PROCESS_ALL_MODELS}), {@link #APIS} (with {@link #FROM_OPERATION} and
+ * {@link #POST_PROCESS_OPERATIONS}), {@link #SUPPORTING_FILES} (with {@link #SUPPORTING_FILE_BUNDLE}),
+ * {@link #TEMPLATE_COMPILE}, {@link #TEMPLATE_EXECUTE}, {@link #WRITE} and {@link #TOTAL}. Template execution and
+ * writes are summed over all render workers, so with parallel generation they can exceed the wall time of the
+ * phase they belong to.
+ * <p>
+ * Files written without a template (copied supporting files, metadata, files written by the config) are listed
+ * with the templates, by file name.
+ * <p>
+ * Instances are thread safe. When timings are enabled, the metrics are written as JSON to {@value #LOCATION}.
+ */
+@JsonPropertyOrder({"files", "bytes", "phases", "templates"})
+public class GenerationMetrics {
+    public static final String LOCATION = ".swagger-codegen/timings.json";
+
+    public static final String PARSE = "parse";
+    public static final String FLATTEN = "flatten";
+    public static final String MODELS = "models";
+    public static final String FROM_MODEL = "fromModel";
+    public static final String POST_PROCESS_ALL_MODELS = "postProcessAllModels";
+    public static final String APIS = "apis";
+    public static final String FROM_OPERATION = "fromOperation";
+    public static final String POST_PROCESS_OPERATIONS = "postProcessOperations";
+    public static final String SUPPORTING_FILES = "supportingFiles";
+    public static final String SUPPORTING_FILE_BUNDLE = "supportingFileBundle";
+    public static final String TEMPLATE_COMPILE = "templateCompile";
+    public static final String TEMPLATE_EXECUTE = "templateExecute";
+    public static final String WRITE = "write";
+    public static final String TOTAL = "total";
+
+    private final Map<String, Stat> phases = new LinkedHashMap<String, Stat>();
+    private final Map<String, Stat> templates = new LinkedHashMap<String, Stat>();
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    // bytes and write time of the files being rendered, until their render is recorded
+    private final ConcurrentMap<String, long[]> pendingWrites = new ConcurrentHashMap<String, long[]>();
+
+    /**
+     * Clears what a previous generation of the same input recorded. The {@link #PARSE} phase is kept, as the
+     * spec is only parsed once per input.
+     */
+    public void reset() {
+        synchronized (phases) {
+            Stat parse = phases.get(PARSE);
+            phases.clear();
+            if (parse != null) {
+                phases.put(PARSE, parse);
+            }
+        }
+        synchronized (templates) {
+            templates.clear();
+        }
+        files.set(0);
+        bytes.set(0);
+        pendingWrites.clear();
+    }
+
+    /**
+     * Records one occurrence of a phase.
+     *
+     * @param phase name of the phase
+     * @param nanos wall time of the occurrence
+     */
+    public void record(String phase, long nanos) {
+        synchronized (phases) {
+            stat(phases, phase).add(nanos, 0);
+        }
+    }
+
+    /**
+     * Records a file written to the output sink.
+     *
+     * @param filename   output file
+     * @param length     number of bytes written
+     * @param writeNanos time spent writing the bytes
+     */
+    public void recordWrite(String filename, long length, long writeNanos) {
+        files.incrementAndGet();
+        bytes.addAndGet(length);
+        record(WRITE, writeNanos);
+        if (pendingWrites.replace(filename, new long[]{length, writeNanos}) == null) {
+            // not rendered from a template
+            synchronized (templates) {
+                stat(templates, new File(filename).getName()).add(writeNanos, length);
+            }
+        }
+    }
+
+    /**
+     * Announces the render of a file, so that its write is accounted to the template by
+     * {@link #recordRender(String, String, long)}.
+     *
+     * @param filename output file
+     */
+    public void renderStarted(String filename) {
+        pendingWrites.put(filename, new long[]{0, 0});
+    }
+
+    /**
+     * Forgets a render announced by {@link #renderStarted(String)} which failed.
+     *
+     * @param filename output file
+     */
+    public void renderFailed(String filename) {
+        pendingWrites.remove(filename);
+    }
+
+    /**
+     * Records a file rendered from a template. The time spent writing the file is accounted to {@link #WRITE},
+     * the rest to {@link #TEMPLATE_EXECUTE}.
+     *
+     * @param template    template name
+     * @param filename    output file
+     * @param renderNanos time spent executing the template and writing the file
+     */
+    public void recordRender(String template, String filename, long renderNanos) {
+        long[] write = pendingWrites.remove(filename);
+        long length = write == null ? 0 : write[0];
+        long writeNanos = write == null ? 0 : write[1];
+        record(TEMPLATE_EXECUTE, renderNanos - writeNanos);
+        synchronized (templates) {
+            stat(templates, template).add(renderNanos, length);
+        }
+    }
+
+    private static Stat stat(Map<String, Stat> stats, String name) {
+        Stat stat = stats.get(name);
+        if (stat == null) {
+            stat = new Stat();
+            stats.put(name, stat);
+        }
+        return stat;
+    }
+
+    public long getFiles() {
+        return files.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @return statistics by phase, in the order the phases were first recorded
+     */
+    public Map<String, Stat> getPhases() {
+        synchronized (phases) {
+            return copy(phases);
+        }
+    }
+
+    /**
+     * @return statistics of the files rendered by each template
+     */
+    public Map<String, Stat> getTemplates() {
+        synchronized (templates) {
+            return copy(templates);
+        }
+    }
+
+    private static Map<String, Stat> copy(Map<String, Stat> stats) {
+        Map<String, Stat> copy = new LinkedHashMap<String, Stat>();
+        for (Map.Entry<String, Stat> entry : stats.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().copy());
+        }
+        return copy;
+    }
+
+    public String toJson() {
+        return Json.pretty(this);
+    }
+
+    /**
+     * @return a human readable table of the phases and templates
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%d files, %d bytes%n", getFiles(), getBytes()));
+        appendTable(sb, "phase", getPhases());
+        appendTable(sb, "template", getTemplates());
+        return sb.toString();
+    }
+
+    private static void appendTable(StringBuilder sb, String title, Map<String, Stat> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        sb.append(String.format(Locale.ROOT, "%-40s %8s %12s %12s%n", title, "count", "ms", "bytes"));
+        for (Map.Entry<String, Stat> entry : stats.entrySet()) {
+            Stat stat = entry.getValue();
+            sb.append(String.format(Locale.ROOT, "%-40s %8d %12.3f %12d%n",
+                    entry.getKey(), stat.getCount(), stat.getMillis(), stat.getBytes()));
+        }
+    }
+
+    @JsonPropertyOrder({"count", "millis", "bytes"})
+    public static class Stat {
+        private long count;
+        private long nanos;
+        private long bytes;
+
+        void add(long nanos, long bytes) {
+            this.count++;
+            this.nanos += nanos;
+            this.bytes += bytes;
+        }
+
+        Stat copy() {
+            Stat copy = new Stat();
+            copy.count = count;
+            copy.nanos = nanos;
+            copy.bytes = bytes;
+            return copy;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return total wall time, in milliseconds with microsecond precision
+         */
+        public double getMillis() {
+            return Math.round(nanos / 1000.0) / 1000.0;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -1,24 +1,43 @@
 package io.swagger.codegen;
 
+import io.swagger.codegen.utils.Sha256;
 import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.models.properties.*;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
 import io.swagger.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class InlineModelResolver {
     private Swagger swagger;
     private boolean skipMatches;
+    private boolean mergeInlineModels;
     static Logger LOGGER = LoggerFactory.getLogger(InlineModelResolver.class);
 
+    private static final ObjectWriter JSON_WRITER = Json.mapper().writer();
+    private static final ObjectWriter STRUCTURE_WRITER = structureWriter();
+
     Map<String, Model> addedModels = new HashMap<String, Model>();
+    // fingerprint of each generated model -> model name
     Map<String, String> generatedSignature = new HashMap<String, String>();
 
     public void flatten(Swagger swagger) {
@@ -51,9 +70,14 @@ public class InlineModelResolver {
                                             if (obj.getProperties() != null && obj.getProperties().size() > 0) {
                                                 flattenProperties(obj.getProperties(), pathname);
                                                 String modelName = resolveModelName(obj.getTitle(), bp.getName());
-                                                bp.setSchema(new RefModel(modelName));
-                                                addGenerated(modelName, model);
-                                                swagger.addDefinition(modelName, model);
+                                                String existing = mergeInlineModels ? matchGenerated(model) : null;
+                                                if (existing != null) {
+                                                    bp.setSchema(new RefModel(existing));
+                                                } else {
+                                                    bp.setSchema(new RefModel(modelName));
+                                                    addGenerated(modelName, model);
+                                                    swagger.addDefinition(modelName, model);
+                                                }
                                             }
                                         }
                                     } else if (model instanceof ArrayModel) {
@@ -238,15 +262,53 @@ public class InlineModelResolver {
         if (this.skipMatches) {
             return null;
         }
-        String json = Json.pretty(model);
-        if (generatedSignature.containsKey(json)) {
-            return generatedSignature.get(json);
-        }
-        return null;
+        return generatedSignature.get(fingerprint(model));
     }
 
     public void addGenerated(String name, Model model) {
-        generatedSignature.put(Json.pretty(model), name);
+        generatedSignature.put(fingerprint(model), name);
+    }
+
+    /**
+     * Digest of the serialized model, so that matching an inline model is a single lookup instead of
+     * holding and comparing the pretty printed JSON of every generated model. When inline models are merged,
+     * the documentation of the model and of its properties is left out of the digest.
+     *
+     * @param model inline model
+     * @return fingerprint of the model
+     */
+    String fingerprint(Model model) {
+        MessageDigest digest = Sha256.newDigest();
+        try {
+            ObjectWriter writer = mergeInlineModels ? STRUCTURE_WRITER : JSON_WRITER;
+            writer.writeValue(new DigestOutputStream(NullOutputStream.INSTANCE, digest), model);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize inline model", e);
+        }
+        return Sha256.hex(digest.digest());
+    }
+
+    private static ObjectWriter structureWriter() {
+        final Set<String> documentation = new HashSet<String>(Arrays.asList("title", "description", "example", "name", "externalDocs"));
+        SimpleModule module = new SimpleModule();
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                Class<?> type = beanDesc.getBeanClass();
+                if (!Model.class.isAssignableFrom(type) && !Property.class.isAssignableFrom(type)) {
+                    return beanProperties;
+                }
+                List<BeanPropertyWriter> structure = new ArrayList<BeanPropertyWriter>();
+                for (BeanPropertyWriter writer : beanProperties) {
+                    if (!documentation.contains(writer.getName())) {
+                        structure.add(writer);
+                    }
+                }
+                return structure;
+            }
+        });
+        return Json.mapper().copy().registerModule(module).writer();
     }
 
     public String uniqueName(String key) {
@@ -463,4 +525,31 @@ public class InlineModelResolver {
         this.skipMatches = skipMatches;
     }
 
+    /**
+     * Whether inline models that only differ by their title, description, example or name are generated
+     * as a single model, including inline body parameter schemas. By default only identical inline
+     * models are, and body parameter schemas always get their own model.
+     *
+     * @return true if similar inline models are merged
+     */
+    public boolean isMergeInlineModels() {
+        return mergeInlineModels;
+    }
+
+    public void setMergeInlineModels(boolean mergeInlineModels) {
+        this.mergeInlineModels = mergeInlineModels;
+    }
+
+    private static class NullOutputStream extends OutputStream {
+        static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+
 }
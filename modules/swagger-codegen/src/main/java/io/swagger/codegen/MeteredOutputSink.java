@@ -0,0 +1,87 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.output.OutputSink;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Counts the bytes written through another sink and the time spent writing them.
+ */
+class MeteredOutputSink implements OutputSink {
+    private final OutputSink delegate;
+    private final GenerationMetrics metrics;
+
+    MeteredOutputSink(OutputSink delegate, GenerationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    OutputSink getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public OutputStream newOutputStream(String filename) throws IOException {
+        long start = System.nanoTime();
+        OutputStream stream = delegate.newOutputStream(filename);
+        return new MeteredStream(stream, filename, System.nanoTime() - start);
+    }
+
+    @Override
+    public void discard(String filename, OutputStream stream) {
+        delegate.discard(filename, stream instanceof MeteredStream ? ((MeteredStream) stream).getDelegate() : stream);
+    }
+
+    private class MeteredStream extends FilterOutputStream {
+        private final String filename;
+        private long length;
+        private long nanos;
+        private boolean closed;
+
+        MeteredStream(OutputStream out, String filename, long openNanos) {
+            super(out);
+            this.filename = filename;
+            this.nanos = openNanos;
+        }
+
+        OutputStream getDelegate() {
+            return out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long start = System.nanoTime();
+            out.write(b);
+            nanos += System.nanoTime() - start;
+            length++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            out.write(b, off, len);
+            nanos += System.nanoTime() - start;
+            length += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            out.flush();
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long start = System.nanoTime();
+            out.close();
+            metrics.recordWrite(filename, length, nanos + System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package io.swagger.codegen;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Identifier conversions used to derive class, variable, file and tag names from the names found in a spec.
+ * <p>
+ * The conversions are single pass and produce exactly what the original regular expression based versions of
+ * {@link DefaultCodegen#camelize(String, boolean)}, {@link DefaultCodegen#underscore(String)} and
+ * {@link DefaultCodegen#sanitizeName(String)} produced. The same names are converted many times during a
+ * generation (model names alone go through camelize for the model, every property and every operation
+ * referencing them), so results are memoized. Each memo holds at most {@code capacity} entries and is emptied
+ * when it is full, which keeps the memory of long-lived processes bounded.
+ * <p>
+ * Instances are thread safe. The static helpers of {@link DefaultCodegen} go through {@link #shared()}.
+ */
+public class NamingService {
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    private static final NamingService SHARED = new NamingService(DEFAULT_CAPACITY);
+
+    private static final Pattern UNICODE_NON_WORD = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS);
+
+    // patterns of the original camelize, still used for names the single pass does not handle
+    private static final Pattern SLASH = Pattern.compile("\\/(.?)");
+    private static final Pattern CLASS_NAME = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+    private static final Pattern UNDERSCORE = Pattern.compile("(_)(.)");
+    private static final Pattern HYPHEN = Pattern.compile("(-)(.)");
+
+    private final Memo camelized;
+    private final Memo lowerCamelized;
+    private final Memo underscored;
+    private final Memo sanitized;
+    private final Memo unicodeSanitized;
+
+    /**
+     * @param capacity maximum number of names memoized per conversion, 0 to disable memoization
+     */
+    public NamingService(int capacity) {
+        this.camelized = new Memo(capacity);
+        this.lowerCamelized = new Memo(capacity);
+        this.underscored = new Memo(capacity);
+        this.sanitized = new Memo(capacity);
+        this.unicodeSanitized = new Memo(capacity);
+    }
+
+    /**
+     * @return the instance used by the static naming helpers of {@link DefaultCodegen}
+     */
+    public static NamingService shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param word                 string to be camelized
+     * @param lowercaseFirstLetter lower case for first letter if set to true
+     * @return camelized string, see {@link DefaultCodegen#camelize(String, boolean)}
+     */
+    public String camelize(String word, boolean lowercaseFirstLetter) {
+        Memo memo = lowercaseFirstLetter ? lowerCamelized : camelized;
+        String result = memo.get(word);
+        if (result == null) {
+            result = memo.put(word, toCamelCase(word, lowercaseFirstLetter));
+        }
+        return result;
+    }
+
+    /**
+     * @param word the word
+     * @return underscored string, see {@link DefaultCodegen#underscore(String)}
+     */
+    public String underscore(String word) {
+        String result = underscored.get(word);
+        if (result == null) {
+            result = underscored.put(word, toUnderscore(word));
+        }
+        return result;
+    }
+
+    /**
+     * @param name                    string to be sanitized, not null
+     * @param allowUnicodeIdentifiers keep unicode letters and digits
+     * @return sanitized string, see {@link DefaultCodegen#sanitizeName(String)}
+     */
+    public String sanitizeName(String name, boolean allowUnicodeIdentifiers) {
+        Memo memo = allowUnicodeIdentifiers ? unicodeSanitized : sanitized;
+        String result = memo.get(name);
+        if (result == null) {
+            result = memo.put(name, toSanitizedName(name, allowUnicodeIdentifiers));
+        }
+        return result;
+    }
+
+    public void clear() {
+        camelized.clear();
+        lowerCamelized.clear();
+        underscored.clear();
+        sanitized.clear();
+        unicodeSanitized.clear();
+    }
+
+    static String toCamelCase(String word, boolean lowercaseFirstLetter) {
+        if (!isPlainAscii(word)) {
+            return toCamelCaseWithPatterns(word, lowercaseFirstLetter);
+        }
+        int length = word.length();
+
+        // '/' and '.' separate parts, each part starting with an upper case letter
+        StringBuilder parts = new StringBuilder(length);
+        boolean partStart = true;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '/' || c == '.') {
+                partStart = true;
+            } else if (partStart) {
+                parts.append(Character.toUpperCase(c));
+                partStart = false;
+            } else {
+                parts.append(c);
+            }
+        }
+
+        // upper case the first word character, which only matters if the first part starts with something else
+        for (int i = 0; i < parts.length(); i++) {
+            char c = parts.charAt(i);
+            if (isWordChar(c)) {
+                parts.replace(i, i + 1, toUpperCase(c));
+                break;
+            }
+        }
+
+        // underscore_case to camelCase: "_x" becomes "X", an underscore before anything else than a lower case
+        // letter is dropped, a trailing one is kept
+        StringBuilder underscores = new StringBuilder(parts.length());
+        for (int i = 0; i < parts.length(); i++) {
+            char c = parts.charAt(i);
+            if (c == '_' && i + 1 < parts.length() && isLowerCase(parts.charAt(i + 1))) {
+                underscores.append(toUpperCase(parts.charAt(++i)));
+            } else if (c != '_' || i + 1 == parts.length()) {
+                underscores.append(c);
+            }
+        }
+
+        // hyphen-case to camelCase: "-x" becomes "X", runs of hyphens collapse, a trailing one is kept
+        StringBuilder hyphens = new StringBuilder(underscores.length());
+        for (int i = 0; i < underscores.length(); i++) {
+            char c = underscores.charAt(i);
+            if (c == '-' && i + 1 < underscores.length()) {
+                if (underscores.charAt(i + 1) != '-') {
+                    hyphens.append(toUpperCase(underscores.charAt(++i)));
+                }
+            } else {
+                hyphens.append(c);
+            }
+        }
+
+        String result = hyphens.toString();
+        if (lowercaseFirstLetter && result.length() > 0) {
+            result = result.substring(0, 1).toLowerCase() + result.substring(1);
+        }
+        return result;
+    }
+
+    /**
+     * The original camelize, for names with characters the regular expressions give a special meaning to: line
+     * terminators (not matched by '.'), '$' and '\' (interpreted in replacement strings) and non ASCII characters.
+     */
+    static String toCamelCaseWithPatterns(String word, boolean lowercaseFirstLetter) {
+        // Replace all slashes with dots (package separator)
+        Matcher m = SLASH.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("." + m.group(1));
+            m = SLASH.matcher(word);
+        }
+
+        // case out dots
+        String[] parts = word.split("\\.");
+        StringBuilder f = new StringBuilder();
+        for (String z : parts) {
+            if (z.length() > 0) {
+                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+            }
+        }
+        word = f.toString();
+
+        m = SLASH.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1));
+            m = SLASH.matcher(word);
+        }
+
+        // Uppercase the class name.
+        m = CLASS_NAME.matcher(word);
+        if (m.find()) {
+            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
+            rep = rep.replaceAll("\\$", "\\\\\\$");
+            word = m.replaceAll(rep);
+        }
+
+        // Remove all underscores (underscore_case to camelCase)
+        m = UNDERSCORE.matcher(word);
+        while (m.find()) {
+            String original = m.group(2);
+            String upperCase = original.toUpperCase();
+            if (original.equals(upperCase)) {
+                word = word.replaceFirst("_", "");
+            } else {
+                word = m.replaceFirst(upperCase);
+            }
+            m = UNDERSCORE.matcher(word);
+        }
+
+        // Remove all hyphens (hyphen-case to camelCase)
+        m = HYPHEN.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst(m.group(2).toUpperCase());
+            m = HYPHEN.matcher(word);
+        }
+
+        if (lowercaseFirstLetter && word.length() > 0) {
+            word = word.substring(0, 1).toLowerCase() + word.substring(1);
+        }
+
+        return word;
+    }
+
+    static String toUnderscore(String word) {
+        int length = word.length();
+        StringBuilder sb = new StringBuilder(length + 8);
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '.') {
+                // package separator to slash
+                sb.append('/');
+            } else if (c == '$') {
+                // inner classes
+                sb.append("__");
+            } else if (c == '-' || c == ' ') {
+                sb.append('_');
+            } else {
+                if (isUpperCase(c) && i > 0) {
+                    char previous = word.charAt(i - 1);
+                    if (isLowerCase(previous) || isDigit(previous)) {
+                        // camelCase => camel_case
+                        sb.append('_');
+                    } else if (isUpperCase(previous) && i + 1 < length && isLowerCase(word.charAt(i + 1))) {
+                        // ABCWord => abc_word
+                        sb.append('_');
+                    }
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase();
+    }
+
+    static String toSanitizedName(String name, boolean allowUnicodeIdentifiers) {
+        // if the name is just '$', map it to 'value' for the time being.
+        if ("$".equals(name)) {
+            return "value";
+        }
+        int length = name.length();
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if (c == '[') {
+                if (i + 1 < length && name.charAt(i + 1) == ']') {
+                    // input[] => input
+                    i++;
+                } else {
+                    // input[a][b] => input_a_b
+                    sb.append('_');
+                }
+            } else if (c == ']' || c == ')') {
+                continue;
+            } else if (c == '(' || c == '.' || c == '-' || c == ' ') {
+                // input(a), input.name, input-name, input name => input_a, input_name
+                sb.append('_');
+            } else if (allowUnicodeIdentifiers || isWordChar(c)) {
+                // anything else than word characters, number and _ is removed below or right away
+                sb.append(c);
+            }
+        }
+        if (allowUnicodeIdentifiers) {
+            return UNICODE_NON_WORD.matcher(sb).replaceAll("");
+        }
+        return sb.toString();
+    }
+
+    private static boolean isPlainAscii(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < ' ' || c > '~' || c == '$' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordChar(char c) {
+        return isLowerCase(c) || isUpperCase(c) || isDigit(c) || c == '_';
+    }
+
+    private static boolean isLowerCase(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // locale sensitive like String.toUpperCase, which the original camelize used
+    private static String toUpperCase(char c) {
+        return isLowerCase(c) ? String.valueOf(c).toUpperCase() : String.valueOf(c);
+    }
+
+    private static class Memo {
+        private final int capacity;
+        private final ConcurrentMap<String, String> results;
+
+        Memo(int capacity) {
+            this.capacity = capacity;
+            this.results = new ConcurrentHashMap<String, String>(Math.min(capacity, 1024));
+        }
+
+        String get(String name) {
+            return capacity > 0 ? results.get(name) : null;
+        }
+
+        String put(String name, String result) {
+            if (capacity > 0) {
+                if (results.size() >= capacity) {
+                    results.clear();
+                }
+                results.put(name, result);
+            }
+            return result;
+        }
+
+        void clear() {
+            results.clear();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.swagger.codegen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs generators of independent inputs at the same time, e.g. the client and the server of the inputs built by
+ * {@link io.swagger.codegen.config.CodegenConfigurator#toClientOptInputs(io.swagger.codegen.config.SpecCache)}.
+ */
+public class ParallelGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelGenerator.class);
+
+    /**
+     * Runs every generator, on up to one thread per processor. All of them run even if one fails.
+     *
+     * @param generators generators whose {@link Generator#opts(ClientOptInput)} have been set
+     * @return the files generated by all generators
+     * @throws RuntimeException the failure of the first generator which failed
+     */
+    public static List<File> generate(List<? extends Generator> generators) {
+        if (generators.size() == 1) {
+            return generators.get(0).generate();
+        }
+        int threads = Math.max(1, Math.min(generators.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<File>>> futures = new ArrayList<Future<List<File>>>();
+            for (final Generator generator : generators) {
+                futures.add(executor.submit(new Callable<List<File>>() {
+                    @Override
+                    public List<File> call() {
+                        return generator.generate();
+                    }
+                }));
+            }
+
+            List<File> files = new ArrayList<File>();
+            RuntimeException failure = null;
+            int failed = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    files.addAll(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    LOGGER.error("Generation " + (i + 1) + " of " + futures.size() + " failed", e.getCause());
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException
+                                ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+                    }
+                    failed++;
+                }
+            }
+            if (failure != null) {
+                if (failed > 1) {
+                    LOGGER.error(failed + " of " + futures.size() + " generations failed");
+                }
+                throw failure;
+            }
+            return files;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Generation was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
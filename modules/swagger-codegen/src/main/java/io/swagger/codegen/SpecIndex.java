@@ -0,0 +1,58 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.utils.ModelGraph;
+import io.swagger.models.Swagger;
+import io.swagger.models.Tag;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lookups into a spec, indexed once after inline models have been resolved so that generators do not scan the
+ * tags or definitions of large specs for each operation or model.
+ * <p>
+ * The index does not change once built: tags or definitions added to the spec afterwards are not found. It is
+ * handed to the generator configuration with {@link CodegenConfig#setSpecIndex(SpecIndex)} before models and apis
+ * are generated.
+ */
+public class SpecIndex {
+    private final Swagger swagger;
+    private final Map<String, Tag> tags;
+    private final ModelGraph modelGraph;
+
+    public SpecIndex(Swagger swagger) {
+        this.swagger = swagger;
+
+        Map<String, Tag> tags = new HashMap<String, Tag>();
+        if (swagger.getTags() != null) {
+            for (Tag tag : swagger.getTags()) {
+                // the first tag of a name wins, as when searching the list
+                if (tag.getName() != null && !tags.containsKey(tag.getName())) {
+                    tags.put(tag.getName(), tag);
+                }
+            }
+        }
+        this.tags = Collections.unmodifiableMap(tags);
+        this.modelGraph = new ModelGraph(swagger.getDefinitions());
+    }
+
+    public Swagger getSwagger() {
+        return swagger;
+    }
+
+    /**
+     * @param name tag name
+     * @return the tag declared at the top level of the spec, or null if operations use it without declaring it
+     */
+    public Tag getTag(String name) {
+        return tags.get(name);
+    }
+
+    /**
+     * @return inheritance graph of the definitions
+     */
+    public ModelGraph getModelGraph() {
+        return modelGraph;
+    }
+}
@@ -0,0 +1,55 @@
+package io.swagger.codegen;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the source of mustache templates, including partials, so that each template is read once instead of
+ * once per generator run.
+ * <p>
+ * Templates are keyed by their resolved location, which already reflects the template folders and library of the
+ * config, so a single cache can be shared by several generator runs in a long-lived process (see
+ * {@link #shared()}). Only the text is kept: each run compiles the templates it uses with its own compiler, whose
+ * partial loader and escaper belong to that run's config, so that nothing of one run is kept for the next.
+ * Templates changed on disk after they have been cached are only picked up again after {@link #clear()}.
+ */
+public class TemplateCache {
+    private static final TemplateCache SHARED = new TemplateCache();
+
+    private final ConcurrentMap<String, String> templates = new ConcurrentHashMap<String, String>();
+
+    /**
+     * @return the process-wide cache, for callers that run many generations in the same JVM
+     */
+    public static TemplateCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param templateFile resolved template file
+     * @return the source of the template, or null if it is not cached
+     */
+    public String get(String templateFile) {
+        return templates.get(templateFile);
+    }
+
+    /**
+     * Stores the source of a template unless another thread stored it first.
+     *
+     * @param templateFile resolved template file
+     * @param template     source of the template
+     * @return the source held by the cache for this file
+     */
+    public String put(String templateFile, String template) {
+        String existing = templates.putIfAbsent(templateFile, template);
+        return existing != null ? existing : template;
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+}
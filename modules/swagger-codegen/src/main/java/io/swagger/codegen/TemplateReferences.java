@@ -0,0 +1,217 @@
+package io.swagger.codegen;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The names a set of mustache templates refer to, used by streaming generation to release the fields of
+ * models and operations that supporting files never read once the model and api files have been written.
+ * <p>
+ * Names are collected regardless of the section they appear in, so a field is only released if no tag of the
+ * templates (or of the partials they include) has its name. Objects of classes with a computed property
+ * (e.g. {@link CodegenOperation#getHasBodyParam()}) which is referred to are left as they are.
+ */
+class TemplateReferences {
+    private static final Pattern TAG = Pattern.compile("\\{\\{([{#^/&>!=]?)(.*?)\\}?\\}\\}", Pattern.DOTALL);
+
+    /**
+     * Loads the text of a partial, by the name used in the template.
+     */
+    interface PartialLoader {
+        String load(String name);
+    }
+
+    private final Set<String> names = new HashSet<String>();
+    private final Set<String> partials = new HashSet<String>();
+    private final Map<Class<?>, Boolean> trimmable = new HashMap<Class<?>, Boolean>();
+    private final PartialLoader partialLoader;
+    private boolean everything;
+
+    TemplateReferences(PartialLoader partialLoader) {
+        this.partialLoader = partialLoader;
+    }
+
+    /**
+     * Collects the names used by a template and its partials.
+     *
+     * @param template text of the template
+     */
+    void addTemplate(String template) {
+        Matcher matcher = TAG.matcher(template);
+        while (matcher.find()) {
+            String kind = matcher.group(1);
+            String name = matcher.group(2).trim();
+            if ("!".equals(kind)) {
+                continue;
+            }
+            if ("=".equals(kind)) {
+                // tags after a delimiter change can not be found any more
+                everything = true;
+            } else if (">".equals(kind)) {
+                addPartial(name);
+            } else {
+                Collections.addAll(names, name.split("\\."));
+            }
+        }
+    }
+
+    private void addPartial(String name) {
+        if (!partials.add(name)) {
+            return;
+        }
+        String partial;
+        try {
+            partial = partialLoader.load(name);
+        } catch (RuntimeException e) {
+            partial = null;
+        }
+        if (partial == null) {
+            everything = true;
+        } else {
+            addTemplate(partial);
+        }
+    }
+
+    /**
+     * @param name name of a field, map entry or property
+     * @return true if the templates may refer to it
+     */
+    boolean isReferenced(String name) {
+        return everything || names.contains(name);
+    }
+
+    /**
+     * Releases the fields of the codegen objects (models, operations, properties...) reachable from a value
+     * that the templates do not refer to. Lists, sets and maps are replaced by empty ones, other objects by null.
+     * Maps are only walked, never changed.
+     *
+     * @param value template data, e.g. the model or api data of a file that has been written
+     */
+    void trim(Object value) {
+        trim(value, true);
+    }
+
+    /**
+     * Like {@link #trim(Object)}, but leaves the models reachable from the operations alone, for operations
+     * written while models may still be needed to post-process other operations.
+     *
+     * @param operations operations whose api files have been written
+     */
+    void trimOperations(List<CodegenOperation> operations) {
+        trim(operations, false);
+    }
+
+    private void trim(Object value, boolean models) {
+        if (everything) {
+            return;
+        }
+        Map<Object, Boolean> visited = new IdentityHashMap<Object, Boolean>();
+        List<Object> pending = new ArrayList<Object>();
+        pending.add(value);
+        while (!pending.isEmpty()) {
+            Object current = pending.remove(pending.size() - 1);
+            if (current == null || visited.put(current, Boolean.TRUE) != null) {
+                continue;
+            }
+            if (current instanceof Map) {
+                pending.addAll(((Map<?, ?>) current).values());
+            } else if (current instanceof Iterable) {
+                for (Object element : (Iterable<?>) current) {
+                    pending.add(element);
+                }
+            } else if (isCodegenClass(current.getClass()) && (models || !(current instanceof CodegenModel))) {
+                trimFields(current, pending);
+            }
+        }
+    }
+
+    private void trimFields(Object object, List<Object> pending) {
+        boolean trim = isTrimmable(object.getClass());
+        for (Field field : object.getClass().getFields()) {
+            int modifiers = field.getModifiers();
+            Class<?> type = field.getType();
+            if (Modifier.isStatic(modifiers) || type.isPrimitive() || type.isEnum() || type == String.class
+                    || Number.class.isAssignableFrom(type) || type == Boolean.class) {
+                continue;
+            }
+            try {
+                Object fieldValue = field.get(object);
+                if (fieldValue == null) {
+                    continue;
+                }
+                if (!trim || Modifier.isFinal(modifiers) || isReferenced(field.getName())) {
+                    pending.add(fieldValue);
+                } else {
+                    field.set(object, emptyValue(type));
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static boolean isCodegenClass(Class<?> type) {
+        return type.getName().startsWith(CodegenModel.class.getPackage().getName() + ".Codegen");
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type.isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<Object>();
+        }
+        if (type.isAssignableFrom(LinkedHashSet.class)) {
+            return new LinkedHashSet<Object>();
+        }
+        if (type.isAssignableFrom(LinkedHashMap.class)) {
+            return new LinkedHashMap<Object, Object>();
+        }
+        return null;
+    }
+
+    /**
+     * Fields of a class can be released unless the templates refer to one of its computed properties, which
+     * may read any of them.
+     */
+    private boolean isTrimmable(Class<?> type) {
+        Boolean result = trimmable.get(type);
+        if (result == null) {
+            result = Boolean.TRUE;
+            for (Method method : type.getMethods()) {
+                if (method.getDeclaringClass() == Object.class || method.getParameterTypes().length > 0
+                        || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                if (isReferenced(method.getName()) || isReferenced(propertyName(method.getName()))) {
+                    result = Boolean.FALSE;
+                    break;
+                }
+            }
+            trimmable.put(type, result);
+        }
+        return result;
+    }
+
+    private static String propertyName(String methodName) {
+        String property;
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            property = methodName.substring(3);
+        } else if (methodName.startsWith("is") && methodName.length() > 2) {
+            property = methodName.substring(2);
+        } else {
+            return methodName;
+        }
+        return Character.toLowerCase(property.charAt(0)) + property.substring(1);
+    }
+}
@@ -8,6 +8,7 @@ import io.swagger.codegen.ClientOpts;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.GenerationMetrics;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
@@ -21,8 +22,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +60,12 @@ public class CodegenConfigurator implements Serializable {
     private String artifactVersion;
     private String library;
     private String ignoreFileOverride;
+    private int workers = 1;
+    private boolean incremental;
+    private boolean timings;
+    private boolean mergeInlineModels;
+    private boolean streaming;
+    private String specCacheDir;
     private Map<String, String> systemProperties = new HashMap<String, String>();
     private Map<String, String> instantiationTypes = new HashMap<String, String>();
     private Map<String, String> typeMappings = new HashMap<String, String>();
@@ -64,6 +73,7 @@ public class CodegenConfigurator implements Serializable {
     private Map<String, String> importMappings = new HashMap<String, String>();
     private Set<String> languageSpecificPrimitives = new HashSet<String>();
     private Map<String, String>  reservedWordMappings = new HashMap<String, String>();
+    private Map<String, String> targets = new LinkedHashMap<String, String>();
 
     private String gitUserId="GIT_USER_ID";
     private String gitRepoId="GIT_REPO_ID";
@@ -379,7 +389,130 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    public int getWorkers() {
+        return workers;
+    }
+
+    public CodegenConfigurator setWorkers(int workers) {
+        this.workers = workers;
+        return this;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public CodegenConfigurator setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    public boolean isTimings() {
+        return timings;
+    }
+
+    public CodegenConfigurator setTimings(boolean timings) {
+        this.timings = timings;
+        return this;
+    }
+
+    public boolean isMergeInlineModels() {
+        return mergeInlineModels;
+    }
+
+    public CodegenConfigurator setMergeInlineModels(boolean mergeInlineModels) {
+        this.mergeInlineModels = mergeInlineModels;
+        return this;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public CodegenConfigurator setStreaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    public String getSpecCacheDir() {
+        return specCacheDir;
+    }
+
+    /**
+     * @param specCacheDir directory where parsed specs are kept for later runs (see {@link SpecDiskCache}), or
+     *                     null to parse the spec every time
+     * @return this configurator
+     */
+    public CodegenConfigurator setSpecCacheDir(String specCacheDir) {
+        this.specCacheDir = toAbsolutePathStr(specCacheDir);
+        return this;
+    }
+
+    public Map<String, String> getTargets() {
+        return targets;
+    }
+
+    /**
+     * @param targets output directory of each language generated in addition to {@link #getLang()}, from the
+     *                same spec and with the same options, except for the library and the template directory which
+     *                are specific to {@link #getLang()}
+     * @return this configurator
+     */
+    public CodegenConfigurator setTargets(Map<String, String> targets) {
+        this.targets = new LinkedHashMap<String, String>();
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            addTarget(target.getKey(), target.getValue());
+        }
+        return this;
+    }
+
+    public CodegenConfigurator addTarget(String lang, String outputDir) {
+        this.targets.put(lang, toAbsolutePathStr(outputDir));
+        return this;
+    }
+
     public ClientOptInput toClientOptInput() {
+        return toClientOptInput(null);
+    }
+
+    /**
+     * Like {@link #toClientOptInput()}, reading the spec from a cache shared with other generations.
+     *
+     * @param specCache documents of specs already read, or null to parse the spec from its location
+     * @return the generator input
+     */
+    public ClientOptInput toClientOptInput(SpecCache specCache) {
+        return toClientOptInput(lang, outputDir, true, specCache);
+    }
+
+    /**
+     * Builds the input of {@link #getLang()} followed by the inputs of the {@link #getTargets() targets}. The spec
+     * is fetched and parsed from JSON or YAML once; as generation changes the {@link Swagger} it is given, each
+     * input still gets its own. The library and the template directory are only used for {@link #getLang()}, the
+     * targets use their default ones.
+     *
+     * @param specCache documents of specs already read, or null to only share the spec between these inputs
+     * @return the generator inputs
+     */
+    public List<ClientOptInput> toClientOptInputs(SpecCache specCache) {
+        if (specCache == null) {
+            specCache = new SpecCache();
+        }
+        List<ClientOptInput> inputs = new ArrayList<ClientOptInput>();
+        if (isNotEmpty(lang)) {
+            inputs.add(toClientOptInput(lang, outputDir, true, specCache));
+        }
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            inputs.add(toClientOptInput(target.getKey(), target.getValue(), false, specCache));
+        }
+        Validate.notEmpty(inputs, "language must be specified");
+        return inputs;
+    }
+
+    /**
+     * @param main false for a target, which gets neither the library nor the templates of {@link #getLang()}
+     */
+    private ClientOptInput toClientOptInput(String lang, String outputDir, boolean main, SpecCache specCache) {
 
         Validate.notEmpty(lang, "language must be specified");
         Validate.notEmpty(inputSpec, "input spec must be specified");
@@ -407,7 +540,9 @@ public class CodegenConfigurator implements Serializable {
         checkAndSetAdditionalProperty(groupId, CodegenConstants.GROUP_ID);
         checkAndSetAdditionalProperty(artifactId, CodegenConstants.ARTIFACT_ID);
         checkAndSetAdditionalProperty(artifactVersion, CodegenConstants.ARTIFACT_VERSION);
-        checkAndSetAdditionalProperty(templateDir, toAbsolutePathStr(templateDir), CodegenConstants.TEMPLATE_DIR);
+        if (main) {
+            checkAndSetAdditionalProperty(templateDir, toAbsolutePathStr(templateDir), CodegenConstants.TEMPLATE_DIR);
+        }
         checkAndSetAdditionalProperty(modelNamePrefix, CodegenConstants.MODEL_NAME_PREFIX);
         checkAndSetAdditionalProperty(modelNameSuffix, CodegenConstants.MODEL_NAME_SUFFIX);
         checkAndSetAdditionalProperty(gitUserId, CodegenConstants.GIT_USER_ID);
@@ -417,18 +552,36 @@ public class CodegenConfigurator implements Serializable {
 
         handleDynamicProperties(config);
 
-        if (isNotEmpty(library)) {
+        if (main && isNotEmpty(library)) {
             config.setLibrary(library);
         }
 
         config.additionalProperties().putAll(additionalProperties);
+        if (!main && isNotEmpty(templateDir)) {
+            // set by the input of lang
+            config.additionalProperties().remove(CodegenConstants.TEMPLATE_DIR);
+        }
 
         ClientOptInput input = new ClientOptInput()
-                .config(config);
+                .config(config)
+                .workers(workers)
+                .incremental(incremental)
+                .timings(timings)
+                .mergeInlineModels(mergeInlineModels)
+                .streaming(streaming);
 
         final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
 
-        Swagger swagger = new SwaggerParser().read(inputSpec, authorizationValues, true);
+        long start = System.nanoTime();
+        Swagger swagger;
+        if (isNotEmpty(specCacheDir)) {
+            swagger = new SpecDiskCache(new File(specCacheDir)).read(inputSpec, authorizationValues);
+        } else if (specCache != null) {
+            swagger = specCache.read(inputSpec, authorizationValues);
+        } else {
+            swagger = new SwaggerParser().read(inputSpec, authorizationValues, true);
+        }
+        input.getMetrics().record(GenerationMetrics.PARSE, System.nanoTime() - start);
 
         input.opts(new ClientOpts())
                 .swagger(swagger);
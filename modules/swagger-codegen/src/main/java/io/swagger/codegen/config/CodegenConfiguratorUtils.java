@@ -116,6 +116,19 @@ public final class CodegenConfiguratorUtils {
         }        
     }
         
+    public static void applyTargetsKvpList(List<String> targets, CodegenConfigurator configurator) {
+        for(String propString : targets) {
+            applyTargetsKvp(propString, configurator);
+        }
+    }
+
+    public static void applyTargetsKvp(String targets, CodegenConfigurator configurator) {
+        final List<Pair<String, String>> pairs = OptionUtils.parseCommaSeparatedTuples(targets);
+        for (Pair<String, String> pair : pairs) {
+            configurator.addTarget(pair.getLeft(), pair.getRight());
+        }
+    }
+
     private static Set<String> createSetFromCsvList(String csvProperty) {
         final List<String> values = OptionUtils.splitCommaSeparatedList(csvProperty);
         return new HashSet<String>(values);
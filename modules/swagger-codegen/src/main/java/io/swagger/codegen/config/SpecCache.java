@@ -0,0 +1,155 @@
+package io.swagger.codegen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.codegen.utils.Sha256;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.ClasspathHelper;
+import io.swagger.parser.util.DeserializationUtils;
+import io.swagger.parser.util.RemoteUrl;
+import io.swagger.parser.util.SwaggerDeserializer;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the documents of specs read by several generations in the same process, so that each spec is fetched
+ * and parsed from JSON or YAML once.
+ * <p>
+ * Generation changes the {@link Swagger} it is given (inline models are flattened, operations post-processed...),
+ * so every call of {@link #read(String, List)} still builds and resolves a new {@link Swagger} from the cached
+ * document. Documents of local files are parsed again once the file has changed. Remote documents are fetched
+ * on every read, as there is no cheap way to tell whether they changed, and only parsed again if their content
+ * did. Specs which are not Swagger 2.0 documents are read with {@link SwaggerParser} every time.
+ * Instances are thread safe.
+ */
+public class SpecCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecCache.class);
+
+    private final ConcurrentMap<String, Document> documents = new ConcurrentHashMap<String, Document>();
+
+    /**
+     * Reads a spec like {@code new SwaggerParser().read(location, authorizationValues, true)}.
+     *
+     * @param location            location of the spec, as URL or file
+     * @param authorizationValues headers added when fetching the spec remotely, or null
+     * @return the resolved spec, or null if it could not be read
+     */
+    public Swagger read(String location, List<AuthorizationValue> authorizationValues) {
+        String key = key(location, authorizationValues);
+        Document document = load(location, authorizationValues, documents.get(key));
+        if (document == null) {
+            documents.remove(key);
+            return new SwaggerParser().read(location, authorizationValues, true);
+        }
+        documents.put(key, document);
+
+        Swagger swagger = new SwaggerDeserializer().deserialize(document.node).getSwagger();
+        if (swagger == null) {
+            return new SwaggerParser().read(location, authorizationValues, true);
+        }
+        return new SwaggerResolver(swagger, authorizationValues, location).resolve();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public void clear() {
+        documents.clear();
+    }
+
+    private static String key(String location, List<AuthorizationValue> authorizationValues) {
+        StringBuilder key = new StringBuilder(location);
+        if (authorizationValues != null) {
+            for (AuthorizationValue value : authorizationValues) {
+                key.append('\n').append(value.getType()).append(':').append(value.getKeyName())
+                        .append('=').append(value.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Reads the document the same way {@link io.swagger.parser.Swagger20Parser} does.
+     *
+     * @param cached document read for the same location before, or null
+     * @return the cached document if it is still up to date, else the document read again, or null if it is no
+     * Swagger 2.0 document or could not be read
+     */
+    private static Document load(String location, List<AuthorizationValue> authorizationValues, Document cached) {
+        try {
+            String data;
+            String hash = null;
+            File file = null;
+            long lastModified = 0;
+            long length = 0;
+            if (location.replaceAll("\\\\", "/").toLowerCase().startsWith("http")) {
+                data = RemoteUrl.urlToString(location, authorizationValues);
+                hash = Sha256.digest(data);
+                if (cached != null && hash.equals(cached.hash)) {
+                    return cached;
+                }
+            } else {
+                Path path = location.toLowerCase().startsWith("file:")
+                        ? Paths.get(URI.create(location)) : Paths.get(location);
+                if (Files.exists(path)) {
+                    file = path.toFile();
+                    if (cached != null && cached.file != null && !cached.isStale()) {
+                        return cached;
+                    }
+                    lastModified = file.lastModified();
+                    length = file.length();
+                    data = FileUtils.readFileToString(file, "UTF-8");
+                } else {
+                    if (cached != null) {
+                        return cached;
+                    }
+                    data = ClasspathHelper.loadFileFromClasspath(location);
+                }
+            }
+            JsonNode node = data.trim().startsWith("{")
+                    ? Json.mapper().readTree(data) : DeserializationUtils.readYamlTree(data);
+            if (node == null || node.get("swagger") == null) {
+                return null;
+            }
+            return new Document(node, file, lastModified, length, hash);
+        } catch (Exception e) {
+            LOGGER.debug("Unable to read spec " + location + " into the cache", e);
+            return null;
+        }
+    }
+
+    private static class Document {
+        private final JsonNode node;
+        private final File file;
+        private final long lastModified;
+        private final long length;
+        // of the content of a remote document
+        private final String hash;
+
+        Document(JsonNode node, File file, long lastModified, long length, String hash) {
+            this.node = node;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        boolean isStale() {
+            return file != null && (file.lastModified() != lastModified || file.length() != length);
+        }
+    }
+}
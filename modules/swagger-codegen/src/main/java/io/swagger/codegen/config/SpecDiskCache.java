@@ -0,0 +1,371 @@
+package io.swagger.codegen.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.codegen.utils.Sha256;
+import io.swagger.codegen.utils.SpecFiles;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.ClasspathHelper;
+import io.swagger.parser.util.DeserializationUtils;
+import io.swagger.parser.util.RemoteUrl;
+import io.swagger.parser.util.SwaggerDeserializationResult;
+import io.swagger.parser.util.SwaggerDeserializer;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the specs read by {@link SwaggerParser} in a directory, so that later runs, in this process or another
+ * one, skip parsing and resolving specs whose documents did not change.
+ * <p>
+ * An entry is found by the hash of the location and of the content of the spec. It records the hash of every
+ * document the spec refers to, directly or not, and is only used if none of them changed. Documents are hashed
+ * as they are read, without being parsed, so checking an entry costs reading the documents once. The resolved
+ * spec is stored as JSON, along with the messages of the parser. Specs which are not Swagger 2.0 documents are
+ * not stored.
+ * <p>
+ * The directory holds at most {@link #DEFAULT_MAX_ENTRIES} entries, or the number given to the constructor; when
+ * an entry is stored beyond that, the entries used least recently are deleted.
+ */
+public class SpecDiskCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecDiskCache.class);
+
+    /**
+     * Changes with the format of the entries and the parser producing them.
+     */
+    private static final String VERSION = "1:" + SwaggerParser.class.getPackage().getImplementationVersion();
+
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private static final String ENTRY_SUFFIX = ".json";
+
+    private static final String DOCUMENTS = "documents";
+    private static final String MESSAGES = "messages";
+    private static final String SWAGGER = "swagger";
+
+    /**
+     * Keeps numbers such as {@code maximum: 100} the same {@link java.math.BigDecimal}, rather than writing
+     * {@code 1E+2} and reading it back as a double.
+     */
+    private static final ObjectMapper ENTRY_MAPPER = Json.mapper().copy()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+
+    private final File directory;
+    private final int maxEntries;
+
+    public SpecDiskCache(File directory) {
+        this(directory, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param directory  directory of the entries
+     * @param maxEntries number of entries kept in the directory
+     */
+    public SpecDiskCache(File directory, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1, was " + maxEntries);
+        }
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Reads a spec like {@code new SwaggerParser().read(location, authorizationValues, true)}.
+     *
+     * @param location            location of the spec, as URL or file
+     * @param authorizationValues headers added when fetching the spec or its references remotely, or null
+     * @return the resolved spec, or null if it could not be read
+     */
+    public Swagger read(String location, List<AuthorizationValue> authorizationValues) {
+        return readWithInfo(location, authorizationValues).getSwagger();
+    }
+
+    /**
+     * Reads a spec like {@code new SwaggerParser().readWithInfo(location, authorizationValues, true)}.
+     *
+     * @param location            location of the spec, as URL or file
+     * @param authorizationValues headers added when fetching the spec or its references remotely, or null
+     * @return the resolved spec and the messages of the parser
+     */
+    public SwaggerDeserializationResult readWithInfo(String location, List<AuthorizationValue> authorizationValues) {
+        if (authorizationValues == null) {
+            authorizationValues = new ArrayList<AuthorizationValue>();
+        }
+        String content = location != null ? load(location, authorizationValues) : null;
+        if (content == null) {
+            return new SwaggerParser().readWithInfo(location, authorizationValues, true);
+        }
+        File entry = entry(location, content, authorizationValues);
+        SwaggerDeserializationResult result = get(entry, location, authorizationValues);
+        if (result != null) {
+            return result;
+        }
+
+        result = new SwaggerParser().readWithInfo(location, authorizationValues, true);
+        put(entry, location, content, authorizationValues, result);
+        return result;
+    }
+
+    /**
+     * Reads a spec like {@code new SwaggerParser().read(node, authorizationValues, true)}.
+     *
+     * @param node                the spec
+     * @param authorizationValues headers added when fetching its references remotely, or null
+     * @return the resolved spec, or null if it is not valid
+     */
+    public Swagger read(JsonNode node, List<AuthorizationValue> authorizationValues) {
+        if (authorizationValues == null) {
+            authorizationValues = new ArrayList<AuthorizationValue>();
+        }
+        String content = node.toString();
+        File entry = entry(null, content, authorizationValues);
+        SwaggerDeserializationResult result = get(entry, null, authorizationValues);
+        if (result != null) {
+            return result.getSwagger();
+        }
+
+        result = new SwaggerDeserializationResult();
+        result.setSwagger(new SwaggerParser().read(node, authorizationValues, true));
+        put(entry, null, content, authorizationValues, result);
+        return result.getSwagger();
+    }
+
+    private File entry(String location, String content, List<AuthorizationValue> authorizationValues) {
+        StringBuilder authorizations = new StringBuilder();
+        if (authorizationValues != null) {
+            for (AuthorizationValue value : authorizationValues) {
+                authorizations.append(value.getType()).append(':').append(value.getKeyName())
+                        .append('=').append(value.getValue()).append('\n');
+            }
+        }
+        return new File(directory, Sha256.digest(VERSION, location, authorizations.toString(), content)
+                + ENTRY_SUFFIX);
+    }
+
+    /**
+     * @return the spec of the entry, or null if there is none or one of its documents changed
+     */
+    private static SwaggerDeserializationResult get(File entry, String location,
+                                                    List<AuthorizationValue> authorizationValues) {
+        if (!entry.isFile()) {
+            return null;
+        }
+        try {
+            JsonNode node = ENTRY_MAPPER.readTree(entry);
+            Iterator<Map.Entry<String, JsonNode>> documents = node.get(DOCUMENTS).fields();
+            while (documents.hasNext()) {
+                Map.Entry<String, JsonNode> document = documents.next();
+                if (!hash(load(document.getKey(), authorizationValues)).equals(document.getValue().textValue())) {
+                    LOGGER.debug("Spec cache entry " + entry.getName() + " is stale, " + document.getKey()
+                            + " changed");
+                    return null;
+                }
+            }
+
+            SwaggerDeserializationResult result = new SwaggerDeserializationResult();
+            Swagger swagger = new SwaggerDeserializer().deserialize(node.get(SWAGGER)).getSwagger();
+            // references were resolved before the spec was stored, this only reads what could not be resolved
+            result.setSwagger(new SwaggerResolver(swagger, authorizationValues, location).resolve());
+            List<String> messages = new ArrayList<String>();
+            for (JsonNode message : node.get(MESSAGES)) {
+                messages.add(message.textValue());
+            }
+            result.setMessages(messages);
+            LOGGER.debug("Read " + (location != null ? location : "spec") + " from spec cache entry "
+                    + entry.getName());
+            // marks the entry as recently used, see prune()
+            entry.setLastModified(System.currentTimeMillis());
+            return result;
+        } catch (Exception e) {
+            LOGGER.warn("Unable to read spec cache entry " + entry + ", parsing the spec again", e);
+            return null;
+        }
+    }
+
+    private void put(File entry, String location, String content, List<AuthorizationValue> authorizationValues,
+                     SwaggerDeserializationResult result) {
+        Swagger swagger = result.getSwagger();
+        if (swagger == null || !"2.0".equals(swagger.getSwagger())) {
+            return;
+        }
+        try {
+            ObjectNode node = ENTRY_MAPPER.createObjectNode();
+            ObjectNode documents = node.putObject(DOCUMENTS);
+            for (Map.Entry<String, String> document : documents(location, content, authorizationValues).entrySet()) {
+                documents.put(document.getKey(), document.getValue());
+            }
+            ArrayNode messages = node.putArray(MESSAGES);
+            if (result.getMessages() != null) {
+                for (String message : result.getMessages()) {
+                    messages.add(message);
+                }
+            }
+            node.set(SWAGGER, ENTRY_MAPPER.convertValue(swagger, JsonNode.class));
+
+            Files.createDirectories(directory.toPath());
+            // written aside then moved, as other processes may read the entry at the same time
+            File temp = File.createTempFile(entry.getName(), ".tmp", directory);
+            try {
+                ENTRY_MAPPER.writeValue(temp, node);
+                Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Unable to write spec cache entry " + entry, e);
+            return;
+        }
+        prune();
+    }
+
+    /**
+     * Deletes the entries used least recently, by modification time, beyond the maximum number of entries.
+     */
+    private void prune() {
+        File[] entries = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.getName().endsWith(ENTRY_SUFFIX);
+            }
+        });
+        if (entries == null || entries.length <= maxEntries) {
+            return;
+        }
+        // read once, as other processes may use entries while sorting
+        final Map<File, Long> lastUsed = new HashMap<File, Long>();
+        for (File entry : entries) {
+            lastUsed.put(entry, entry.lastModified());
+        }
+        Arrays.sort(entries, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return lastUsed.get(a).compareTo(lastUsed.get(b));
+            }
+        });
+        for (int i = 0; i < entries.length - maxEntries; i++) {
+            if (!entries[i].delete()) {
+                LOGGER.debug("Unable to delete spec cache entry " + entries[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the hash of every document the spec refers to, directly or not, by location
+     */
+    private static Map<String, String> documents(String location, String content,
+                                                 List<AuthorizationValue> authorizationValues) {
+        Map<String, String> documents = new LinkedHashMap<String, String>();
+        List<String> pending = new ArrayList<String>();
+        List<String> contents = new ArrayList<String>();
+        pending.add(location);
+        contents.add(content);
+        while (!pending.isEmpty()) {
+            String parent = pending.remove(pending.size() - 1);
+            String data = contents.remove(contents.size() - 1);
+            if (data == null) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = data.trim().startsWith("{")
+                        ? Json.mapper().readTree(data) : DeserializationUtils.readYamlTree(data);
+            } catch (Exception e) {
+                LOGGER.debug("Unable to read the references of " + parent, e);
+                continue;
+            }
+            for (String reference : SpecFiles.references(node)) {
+                String referenced = resolve(parent, reference);
+                if (referenced != null && !documents.containsKey(referenced)) {
+                    String referencedContent = load(referenced, authorizationValues);
+                    documents.put(referenced, hash(referencedContent));
+                    pending.add(referenced);
+                    contents.add(referencedContent);
+                }
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * @return the location of a document referred to by another one, or null if it can't be told
+     */
+    private static String resolve(String parent, String reference) {
+        try {
+            if (reference.contains("://")) {
+                return reference;
+            }
+            if (parent == null) {
+                return null;
+            }
+            if (isUrl(parent)) {
+                return new URL(new URL(parent), reference).toString();
+            }
+            Path parentPath = Paths.get(parent).toAbsolutePath();
+            return parentPath.resolveSibling(reference).normalize().toString();
+        } catch (Exception e) {
+            LOGGER.debug("Unable to resolve reference " + reference + " of " + parent, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a document the same way {@link io.swagger.parser.Swagger20Parser} does.
+     *
+     * @return the document, or null if it can't be read
+     */
+    private static String load(String location, List<AuthorizationValue> authorizationValues) {
+        try {
+            if (location.replaceAll("\\\\", "/").toLowerCase().startsWith("http")) {
+                return RemoteUrl.urlToString(location, authorizationValues);
+            }
+            Path path = location.toLowerCase().startsWith("file:")
+                    ? Paths.get(URI.create(location)) : Paths.get(location);
+            if (Files.exists(path)) {
+                return FileUtils.readFileToString(path.toFile(), "UTF-8");
+            }
+            return ClasspathHelper.loadFileFromClasspath(location);
+        } catch (Exception e) {
+            LOGGER.debug("Unable to read " + location, e);
+            return null;
+        }
+    }
+
+    private static boolean isUrl(String location) {
+        return location.contains("://") || location.toLowerCase().startsWith("file:");
+    }
+
+    private static String hash(String content) {
+        return Sha256.digest(content);
+    }
+}
@@ -27,9 +27,24 @@ public class ExampleGenerator {
 
     protected Map<String, Model> examples;
     private Random random;
+    private final Map<String, String> cache;
+    private XmlExampleGenerator xmlExampleGenerator;
 
     public ExampleGenerator(Map<String, Model> examples) {
+        this(examples, null);
+    }
+
+    /**
+     * Examples of models are generated once, then reused: the example built for a model is stored in the model.
+     * The cache additionally keeps the rendered examples of model references, by media type, for the generators
+     * of a run to share.
+     *
+     * @param examples definitions of the spec
+     * @param cache    rendered examples shared with other generators for the same definitions, or null
+     */
+    public ExampleGenerator(Map<String, Model> examples, Map<String, String> cache) {
         this.examples = examples;
+        this.cache = cache;
         // use a fixed seed to make the "random" numbers reproducible.
         this.random = new Random("ExampleGenerator".hashCode());
     }
@@ -46,14 +61,23 @@ public class ExampleGenerator {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
                 if (property != null && mediaType.startsWith(MIME_TYPE_JSON)) {
-                    String example = Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels));
+                    // once models were resolved for this operation, cyclic references resolve differently
+                    String key = processedModels.isEmpty() ? exampleKey(property) : null;
+                    String example = cachedExample(mediaType, key);
+                    if (example == null) {
+                        example = cacheExample(mediaType, key, Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels)));
+                    }
 
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
                 } else if (property != null && mediaType.startsWith(MIME_TYPE_XML)) {
-                    String example = new XmlExampleGenerator(this.examples).toXml(property);
+                    String key = exampleKey(property);
+                    String example = cachedExample(mediaType, key);
+                    if (example == null) {
+                        example = cacheExample(mediaType, key, getXmlExampleGenerator().toXml(property));
+                    }
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -90,8 +114,11 @@ public class ExampleGenerator {
                 if (modelName != null && mediaType.startsWith(MIME_TYPE_JSON)) {
                     final Model model = this.examples.get(modelName);
                     if (model != null) {
-
-                        String example = Json.pretty(resolveModelToExample(modelName, mediaType, model, processedModels));
+                        String key = processedModels.isEmpty() ? "model:" + modelName : null;
+                        String example = cachedExample(mediaType, key);
+                        if (example == null) {
+                            example = cacheExample(mediaType, key, Json.pretty(resolveModelToExample(modelName, mediaType, model, processedModels)));
+                        }
 
                         if (example != null) {
                             kv.put(EXAMPLE, example);
@@ -100,7 +127,11 @@ public class ExampleGenerator {
                     }
                 } else if (modelName != null && mediaType.startsWith(MIME_TYPE_XML)) {
                     final Model model = this.examples.get(modelName);
-                    String example = new XmlExampleGenerator(this.examples).toXml(model, 0, Collections.<String>emptySet());
+                    String key = "model:" + modelName;
+                    String example = cachedExample(mediaType, key);
+                    if (example == null) {
+                        example = cacheExample(mediaType, key, getXmlExampleGenerator().toXml(model, 0, Collections.<String>emptySet()));
+                    }
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -123,6 +154,51 @@ public class ExampleGenerator {
         return output;
     }
 
+    private XmlExampleGenerator getXmlExampleGenerator() {
+        if (xmlExampleGenerator == null) {
+            xmlExampleGenerator = new XmlExampleGenerator(this.examples);
+        }
+        return xmlExampleGenerator;
+    }
+
+    /**
+     * Only examples of model references, possibly in arrays, are cached: they do not depend on random values,
+     * and the example of a model does not change once built.
+     *
+     * @param property response or body property
+     * @return the cache key of the property, or null if its example is not cached
+     */
+    private static String exampleKey(Property property) {
+        if (property.getExample() != null) {
+            return null;
+        }
+        if (property instanceof RefProperty) {
+            return "ref:" + ((RefProperty) property).getSimpleRef();
+        }
+        if (property instanceof ArrayProperty && ((ArrayProperty) property).getItems() != null) {
+            String itemsKey = exampleKey(((ArrayProperty) property).getItems());
+            if (itemsKey != null) {
+                boolean wrapped = property.getXml() != null && Boolean.TRUE.equals(property.getXml().getWrapped());
+                return "array:" + ((ArrayProperty) property).getMaxItems() + ":" + wrapped + ":" + itemsKey;
+            }
+        }
+        return null;
+    }
+
+    private String cachedExample(String mediaType, String key) {
+        if (cache == null || key == null) {
+            return null;
+        }
+        return cache.get(mediaType + " " + key);
+    }
+
+    private String cacheExample(String mediaType, String key, String example) {
+        if (cache != null && key != null && example != null) {
+            cache.put(mediaType + " " + key, example);
+        }
+        return example;
+    }
+
     private Object resolvePropertyToExample(String propertyName, String mediaType, Property property, Set<String> processedModels) {
         logger.debug("Resolving example for property {}...", property);
         if (property.getExample() != null) {
@@ -1,15 +1,18 @@
 package io.swagger.codegen.ignore;
 
 import com.google.common.collect.ImmutableList;
-import io.swagger.codegen.ignore.rules.DirectoryRule;
 import io.swagger.codegen.ignore.rules.Rule;
+import io.swagger.codegen.ignore.rules.RuleSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Presents a processing utility for parsing and evaluating files containing common ignore patterns. (.swagger-codegen-ignore)
@@ -23,6 +26,11 @@ public class CodegenIgnoreProcessor {
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
 
+    private RuleSet ruleSet;
+    private URI baseDirectory;
+    // directory -> its path relative to the ignore file
+    private final Map<File, String> relativeDirectories = new ConcurrentHashMap<>();
+
     /**
      * Loads the default ignore file (.swagger-codegen-ignore) from the specified path.
      *
@@ -63,6 +71,8 @@ public class CodegenIgnoreProcessor {
             try {
                 loadCodegenRules(targetIgnoreFile);
                 this.ignoreFile = targetIgnoreFile;
+                this.ruleSet = new RuleSet(exclusionRules, inclusionRules);
+                this.baseDirectory = targetIgnoreFile.getParentFile().toURI();
             } catch (IOException e) {
                 LOGGER.error(String.format("Could not process %s.", targetIgnoreFile.getName()), e.getMessage());
             }
@@ -108,66 +118,35 @@ public class CodegenIgnoreProcessor {
     public boolean allowsFile(final File targetFile) {
         if(this.ignoreFile == null) return true;
 
-        File file = new File(this.ignoreFile.getParentFile().toURI().relativize(targetFile.toURI()).getPath());
-        Boolean directoryExcluded = false;
-        Boolean exclude = false;
-        if(exclusionRules.size() == 0 && inclusionRules.size() == 0) {
+        if(ruleSet.isEmpty()) {
             return true;
         }
+        return ruleSet.allows(relativePath(targetFile));
+    }
 
-        // NOTE: We *must* process all exclusion rules
-        for (int i = 0; i < exclusionRules.size(); i++) {
-            Rule current = exclusionRules.get(i);
-            Rule.Operation op = current.evaluate(file.getPath());
-
-            switch (op){
-                case EXCLUDE:
-                    exclude = true;
-
-                    // Include rule can't override rules that exclude a file by some parent directory.
-                    if(current instanceof DirectoryRule) {
-                        directoryExcluded = true;
-                    }
-                    break;
-                case INCLUDE:
-                    // This won't happen here.
-                    break;
-                case NOOP:
-                    break;
-                case EXCLUDE_AND_TERMINATE:
-                    i = exclusionRules.size();
-                    break;
-            }
+    /**
+     * Path of a file relative to the directory of the ignore file, relativizing each directory only once.
+     */
+    private String relativePath(final File targetFile) {
+        File directory = targetFile.getParentFile();
+        String name = targetFile.getName();
+        if (directory == null || name.isEmpty() || ".".equals(name) || "..".equals(name)) {
+            return relativize(targetFile);
         }
-
-        if(exclude) {
-            // Only need to process inclusion rules if we've been excluded
-            for (int i = 0; exclude && i < inclusionRules.size(); i++) {
-                Rule current = inclusionRules.get(i);
-                Rule.Operation op = current.evaluate(file.getPath());
-
-                // At this point exclude=true means the file should be ignored.
-                // op == INCLUDE means we have to flip that flag.
-                if(op.equals(Rule.Operation.INCLUDE)) {
-                    if(current instanceof DirectoryRule && directoryExcluded) {
-                        // e.g
-                        // baz/
-                        // !foo/bar/baz/
-                        // NOTE: Possibly surprising side effect:
-                        // foo/bar/baz/
-                        // !bar/
-                        exclude = false;
-                    } else if (!directoryExcluded) {
-                        // e.g.
-                        // **/*.log
-                        // !ISSUE_1234.log
-                        exclude = false;
-                    }
-                }
-            }
+        String relativeDirectory = relativeDirectories.get(directory);
+        if (relativeDirectory == null) {
+            relativeDirectory = relativize(directory);
+            relativeDirectories.put(directory, relativeDirectory);
+        }
+        if (new File(relativeDirectory).isAbsolute()) {
+            // not under the directory of the ignore file, though the file itself may be that directory
+            return relativize(targetFile);
         }
+        return relativeDirectory.isEmpty() ? new File(name).getPath() : new File(relativeDirectory, name).getPath();
+    }
 
-        return Boolean.FALSE.equals(exclude);
+    private String relativize(final File file) {
+        return new File(baseDirectory.relativize(file.toURI()).getPath()).getPath();
     }
 
     /**
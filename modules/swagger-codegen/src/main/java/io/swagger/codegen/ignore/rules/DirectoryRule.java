@@ -2,11 +2,16 @@ package io.swagger.codegen.ignore.rules;
 
 import java.nio.file.*;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.PatternSyntaxException;
 
 public class DirectoryRule extends FileRule {
 
     private PathMatcher directoryMatcher = null;
     private PathMatcher contentsMatcher = null;
+    private PathMatcher parentMatcher = null;
+    private final Map<String, Boolean> matchedDirectories = new ConcurrentHashMap<>();
 
     DirectoryRule(List<Part> syntax, String definition) {
         super(syntax, definition);
@@ -18,6 +23,40 @@ public class DirectoryRule extends FileRule {
         directoryMatcher = FileSystems.getDefault().getPathMatcher(sb.toString());
         sb.append("**");
         contentsMatcher = FileSystems.getDefault().getPathMatcher(sb.toString());
+
+        // "pattern/**" matches a path when the pattern matches one of the directories of the path
+        String directoryPattern = pattern.endsWith("/") ? pattern.substring(0, pattern.length() - 1) : pattern;
+        try {
+            parentMatcher = FileSystems.getDefault().getPathMatcher("glob:" + directoryPattern);
+        } catch (PatternSyntaxException e) {
+            // e.g. an escaped trailing delimiter, only evaluated against full paths
+        }
+    }
+
+    /**
+     * Same as {@link #matches(String)} for the paths evaluated by {@link RuleSet}, deciding once per
+     * directory whether the directory or one of its parents matches.
+     *
+     * @param relativePath normalized path of printable ASCII characters, with '/' separators
+     * @return true if the path is in a matching directory
+     */
+    Boolean matchesDirectories(String relativePath) {
+        if (parentMatcher == null || relativePath.endsWith("/")) {
+            return matches(relativePath);
+        }
+        int separator = relativePath.lastIndexOf('/');
+        return separator >= 0 && matchesDirectory(relativePath.substring(0, separator));
+    }
+
+    private boolean matchesDirectory(String directory) {
+        Boolean matched = matchedDirectories.get(directory);
+        if (matched == null) {
+            int separator = directory.lastIndexOf('/');
+            matched = parentMatcher.matches(FileSystems.getDefault().getPath(directory))
+                    || separator >= 0 && matchesDirectory(directory.substring(0, separator));
+            matchedDirectories.put(directory, matched);
+        }
+        return matched;
     }
 
     @Override
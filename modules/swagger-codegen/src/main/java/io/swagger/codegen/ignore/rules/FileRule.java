@@ -1,20 +1,52 @@
 package io.swagger.codegen.ignore.rules;
 
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.List;
 
 public class FileRule extends Rule {
+    private static final String GLOB_SPECIAL_CHARACTERS = "*?[]{}\\";
 
     private PathMatcher matcher = null;
+    private final String literalPrefix;
+    private final boolean literal;
 
     FileRule(List<Part> syntax, String definition) {
         super(syntax, definition);
         matcher = FileSystems.getDefault().getPathMatcher("glob:"+this.getPattern());
+
+        // text every matched path starts with, see RuleSet
+        String pattern = this.getPattern();
+        int end = 0;
+        while (end < pattern.length() && RuleSet.isPrintableAscii(pattern.charAt(end))
+                && GLOB_SPECIAL_CHARACTERS.indexOf(pattern.charAt(end)) < 0) {
+            end++;
+        }
+        literalPrefix = pattern.substring(0, end);
+        literal = end == pattern.length();
     }
 
     @Override
     public Boolean matches(String relativePath) {
         return matcher.matches(FileSystems.getDefault().getPath(relativePath));
     }
+
+    Boolean matches(Path path) {
+        return matcher.matches(path);
+    }
+
+    /**
+     * @return the printable ASCII text before the first wildcard of the pattern
+     */
+    String getLiteralPrefix() {
+        return literalPrefix;
+    }
+
+    /**
+     * @return true if the pattern has no wildcard and only matches the path equal to it
+     */
+    boolean isLiteral() {
+        return literal;
+    }
 }
@@ -10,6 +10,7 @@ import java.util.regex.Pattern;
 public class RootedFileRule extends Rule {
     private String definedFilename = null;
     private String definedExtension = null;
+    private Pattern filenamePattern = null;
 
     RootedFileRule(List<Part> syntax, String definition) {
         super(syntax, definition);
@@ -27,6 +28,18 @@ public class RootedFileRule extends Rule {
         return input.substring(stopIndex > 0 ? stopIndex+1: input.length(), input.length());
     }
 
+    private Pattern getFilenamePattern() {
+        if (filenamePattern == null) {
+            // TODO: Evaluate any other escape requirements here.
+            filenamePattern = Pattern.compile(
+                    definedFilename
+                            .replaceAll(Pattern.quote("."), "\\\\Q.\\\\E")
+                            .replaceAll(Pattern.quote("*"), ".*?") // non-greedy match on 0+ any character
+            );
+        }
+        return filenamePattern;
+    }
+
     @Override
     public Boolean matches(String relativePath) {
         // NOTE: Windows-style separator isn't supported, so File.pathSeparator would be incorrect here.
@@ -41,13 +54,7 @@ public class RootedFileRule extends Rule {
             boolean extensionMatches = definedExtension.equals(extension) || definedExtension.equals(IgnoreLineParser.Token.MATCH_ANY.getPattern());
 
             if(extensionMatches && definedFilename.contains(IgnoreLineParser.Token.MATCH_ANY.getPattern())) {
-                // TODO: Evaluate any other escape requirements here.
-                Pattern regex = Pattern.compile(
-                        definedFilename
-                                .replaceAll(Pattern.quote("."), "\\\\Q.\\\\E")
-                                .replaceAll(Pattern.quote("*"), ".*?") // non-greedy match on 0+ any character
-                );
-                return regex.matcher(filename).matches();
+                return getFilenamePattern().matcher(filename).matches();
             }
 
             return extensionMatches && definedFilename.equals(filename);
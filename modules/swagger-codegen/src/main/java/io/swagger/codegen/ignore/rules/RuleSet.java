@@ -0,0 +1,209 @@
+package io.swagger.codegen.ignore.rules;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The rules of an ignore file, prepared for evaluating every file of a generation.
+ * <p>
+ * Rules without wildcards are looked up in a set, other file rules are only matched against paths starting
+ * with the text before their first wildcard, and directory rules decide once per directory. Paths that are
+ * not plain ASCII, or rule lists which stop the evaluation early, are evaluated rule by rule.
+ */
+public class RuleSet {
+    private final List<Rule> exclusionRules;
+    private final List<Rule> inclusionRules;
+
+    private final boolean compiled;
+    private final Set<String> literalExclusions = new HashSet<>();
+    private final List<Rule> patternExclusions = new ArrayList<>();
+    private final Set<String> literalInclusions = new HashSet<>();
+    private final List<Rule> patternInclusions = new ArrayList<>();
+
+    /**
+     * @param exclusionRules rules excluding files, in the order of the ignore file
+     * @param inclusionRules negated rules including excluded files again, in the order of the ignore file
+     */
+    public RuleSet(List<Rule> exclusionRules, List<Rule> inclusionRules) {
+        this.exclusionRules = new ArrayList<>(exclusionRules);
+        this.inclusionRules = new ArrayList<>(inclusionRules);
+        this.compiled = File.separatorChar == '/'
+                && compile(this.exclusionRules, literalExclusions, patternExclusions)
+                && compile(this.inclusionRules, literalInclusions, patternInclusions);
+    }
+
+    private static boolean compile(List<Rule> rules, Set<String> literals, List<Rule> patterns) {
+        for (Rule rule : rules) {
+            if (rule instanceof InvalidRule) {
+                continue;
+            }
+            if (!(rule instanceof FileRule) && !(rule instanceof RootedFileRule)) {
+                // e.g. a rule terminating the evaluation
+                return false;
+            }
+            if (rule instanceof FileRule && !(rule instanceof DirectoryRule) && ((FileRule) rule).isLiteral()) {
+                literals.add(((FileRule) rule).getLiteralPrefix());
+            } else {
+                patterns.add(rule);
+            }
+        }
+        return true;
+    }
+
+    static boolean isPrintableAscii(char c) {
+        return c >= ' ' && c <= '~';
+    }
+
+    private static boolean isPrintableAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isPrintableAscii(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if no rule excludes any file
+     */
+    public boolean isEmpty() {
+        return exclusionRules.isEmpty() && inclusionRules.isEmpty();
+    }
+
+    /**
+     * Whether a file is kept: not matched by any exclusion rule, or included again by a negated rule. A file
+     * excluded by a directory rule is only included again by a negated directory rule.
+     *
+     * @param relativePath path of the file relative to the ignore file, as returned by {@link File#getPath()}
+     * @return true if the file is allowed
+     */
+    public boolean allows(String relativePath) {
+        if (compiled && isPrintableAscii(relativePath)) {
+            return allowsCompiled(relativePath);
+        }
+        return allowsSequentially(relativePath);
+    }
+
+    private boolean allowsCompiled(String relativePath) {
+        Candidate candidate = new Candidate(relativePath);
+        boolean exclude = literalExclusions.contains(relativePath);
+        boolean directoryExcluded = false;
+        for (Rule rule : patternExclusions) {
+            boolean directoryRule = rule instanceof DirectoryRule;
+            if (exclude && (directoryExcluded || !directoryRule || inclusionRules.isEmpty())) {
+                // the rule can not change the outcome any more
+                continue;
+            }
+            if (candidate.matches(rule)) {
+                exclude = true;
+                directoryExcluded |= directoryRule;
+            }
+        }
+        if (!exclude) {
+            return true;
+        }
+
+        if (!directoryExcluded && literalInclusions.contains(relativePath)) {
+            return true;
+        }
+        for (Rule rule : patternInclusions) {
+            if ((!directoryExcluded || rule instanceof DirectoryRule) && candidate.matches(rule)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean allowsSequentially(String relativePath) {
+        Boolean directoryExcluded = false;
+        Boolean exclude = false;
+
+        // NOTE: We *must* process all exclusion rules
+        for (int i = 0; i < exclusionRules.size(); i++) {
+            Rule current = exclusionRules.get(i);
+            Rule.Operation op = current.evaluate(relativePath);
+
+            switch (op){
+                case EXCLUDE:
+                    exclude = true;
+
+                    // Include rule can't override rules that exclude a file by some parent directory.
+                    if(current instanceof DirectoryRule) {
+                        directoryExcluded = true;
+                    }
+                    break;
+                case INCLUDE:
+                    // This won't happen here.
+                    break;
+                case NOOP:
+                    break;
+                case EXCLUDE_AND_TERMINATE:
+                    i = exclusionRules.size();
+                    break;
+            }
+        }
+
+        if(exclude) {
+            // Only need to process inclusion rules if we've been excluded
+            for (int i = 0; exclude && i < inclusionRules.size(); i++) {
+                Rule current = inclusionRules.get(i);
+                Rule.Operation op = current.evaluate(relativePath);
+
+                // At this point exclude=true means the file should be ignored.
+                // op == INCLUDE means we have to flip that flag.
+                if(op.equals(Rule.Operation.INCLUDE)) {
+                    if(current instanceof DirectoryRule && directoryExcluded) {
+                        // e.g
+                        // baz/
+                        // !foo/bar/baz/
+                        // NOTE: Possibly surprising side effect:
+                        // foo/bar/baz/
+                        // !bar/
+                        exclude = false;
+                    } else if (!directoryExcluded) {
+                        // e.g.
+                        // **/*.log
+                        // !ISSUE_1234.log
+                        exclude = false;
+                    }
+                }
+            }
+        }
+
+        return Boolean.FALSE.equals(exclude);
+    }
+
+    /**
+     * A path being evaluated, parsed once for all the file rules it gets past the prefix of.
+     */
+    private static class Candidate {
+        private final String relativePath;
+        private Path path;
+
+        Candidate(String relativePath) {
+            this.relativePath = relativePath;
+        }
+
+        boolean matches(Rule rule) {
+            if (rule instanceof DirectoryRule) {
+                return Boolean.TRUE.equals(((DirectoryRule) rule).matchesDirectories(relativePath));
+            }
+            if (rule instanceof FileRule) {
+                FileRule fileRule = (FileRule) rule;
+                if (!relativePath.startsWith(fileRule.getLiteralPrefix())) {
+                    return false;
+                }
+                if (path == null) {
+                    path = FileSystems.getDefault().getPath(relativePath);
+                }
+                return Boolean.TRUE.equals(fileRule.matches(path));
+            }
+            return Boolean.TRUE.equals(rule.matches(relativePath));
+        }
+    }
+}
@@ -21,6 +21,7 @@ public class ConfluenceWikiGenerator extends DefaultCodegen implements CodegenCo
         super();
         outputFolder = "docs";
         embeddedTemplateDir = templateDir = "confluenceWikiDocs";
+        renderJsonSchema = true;
 
         defaultIncludes = new HashSet<String>();
 
@@ -709,6 +709,7 @@ public class ElixirClientCodegen extends DefaultCodegen implements CodegenConfig
 
     class ExtendedCodegenModel extends CodegenModel {
         public boolean hasImports;
+        private final CodegenModel source;
         public ExtendedCodegenModel(CodegenModel cm) {
             super();
 
@@ -724,6 +725,7 @@ public class ElixirClientCodegen extends DefaultCodegen implements CodegenConfig
             this.description = cm.description;
             this.classVarName = cm.classVarName;
             this.modelJson = cm.modelJson;
+            this.source = cm;
             this.dataType = cm.dataType;
             this.xmlPrefix = cm.xmlPrefix;
             this.xmlNamespace = cm.xmlNamespace;
@@ -762,6 +764,12 @@ public class ElixirClientCodegen extends DefaultCodegen implements CodegenConfig
             this.hasImports = !this.imports.isEmpty();
         }
 
+        @Override
+        public String getModelJson() {
+            // rendered from the source model, which may not have rendered it yet
+            return modelJson != null ? modelJson : source.getModelJson();
+        }
+
         public boolean hasComplexVars() {
             for (CodegenProperty p : vars) {
                 if (!p.isPrimitiveType) {
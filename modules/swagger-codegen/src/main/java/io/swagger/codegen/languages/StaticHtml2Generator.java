@@ -35,6 +35,8 @@ public class StaticHtml2Generator extends DefaultCodegen implements CodegenConfi
         super();
         outputFolder = "docs";
         embeddedTemplateDir = templateDir = "htmlDocs2";
+        // the templates embed the JSON of the spec as it was before the operations were post-processed
+        renderJsonSchema = true;
 
         defaultIncludes = new HashSet<String>();
 
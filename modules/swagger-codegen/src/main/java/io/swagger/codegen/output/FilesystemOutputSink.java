@@ -0,0 +1,104 @@
+package io.swagger.codegen.output;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes files to disk, at the paths computed by the generator. This is the default sink.
+ * <p>
+ * Each file is written next to its destination under a temporary name and only moved in place once it is
+ * complete, so that a file which fails to render leaves the previous version of the destination untouched.
+ */
+public class FilesystemOutputSink implements OutputSink {
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    @Override
+    public OutputStream newOutputStream(String filename) throws IOException {
+        final File output = new File(filename);
+        if (output.getParent() != null && !new File(output.getParent()).exists()) {
+            File parent = new File(output.getParent());
+            parent.mkdirs();
+        }
+        final File temp = new File(output.getAbsoluteFile().getParentFile(),
+                "." + output.getName() + "." + COUNTER.incrementAndGet() + ".tmp");
+        return new PendingFile(new FileOutputStream(temp), temp, output);
+    }
+
+    @Override
+    public void discard(String filename, OutputStream stream) {
+        if (stream instanceof PendingFile) {
+            ((PendingFile) stream).abandon();
+        } else {
+            IOUtils.closeQuietly(stream);
+            new File(filename).delete();
+        }
+    }
+
+    /**
+     * Moves the temporary file onto its destination when closed.
+     */
+    private static class PendingFile extends FilterOutputStream {
+        private final File temp;
+        private final File output;
+        private boolean closed;
+
+        PendingFile(OutputStream out, File temp, File output) {
+            super(out);
+            this.temp = temp;
+            this.output = output;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            boolean moved = false;
+            try {
+                out.close();
+                replace(temp.toPath(), output.toPath());
+                moved = true;
+            } finally {
+                if (!moved) {
+                    temp.delete();
+                }
+            }
+        }
+
+        void abandon() {
+            closed = true;
+            IOUtils.closeQuietly(out);
+            temp.delete();
+        }
+
+        private static void replace(Path source, Path target) throws IOException {
+            PosixFileAttributeView previous = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+            if (previous != null && Files.exists(target)) {
+                // keep e.g. the executable bit of a script generated by a previous run
+                Files.setPosixFilePermissions(source, previous.readAttributes().permissions());
+            }
+            try {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+}
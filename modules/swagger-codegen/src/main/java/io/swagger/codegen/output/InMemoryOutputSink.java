@@ -0,0 +1,64 @@
+package io.swagger.codegen.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps generated files in memory, keyed by their path relative to the output folder.
+ */
+public class InMemoryOutputSink implements OutputSink {
+    private final File root;
+    private final Map<String, byte[]> files = Collections.synchronizedMap(new LinkedHashMap<String, byte[]>());
+
+    /**
+     * @param root output folder of the generator, the files are keyed relative to it
+     */
+    public InMemoryOutputSink(String root) {
+        this.root = new File(root);
+    }
+
+    @Override
+    public OutputStream newOutputStream(String filename) throws IOException {
+        final String path = OutputPaths.relativize(root, filename);
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    files.put(path, toByteArray());
+                }
+            }
+        };
+    }
+
+    @Override
+    public void discard(String filename, OutputStream stream) {
+        // contents are only kept once the stream is closed
+    }
+
+    /**
+     * @return contents of the generated files by relative path, in the order they were completed
+     */
+    public Map<String, byte[]> getFiles() {
+        synchronized (files) {
+            return new LinkedHashMap<String, byte[]>(files);
+        }
+    }
+
+    /**
+     * @param path path relative to the output folder, using '/' as separator
+     * @return the UTF-8 contents of the file, or null if it was not generated
+     */
+    public String getContents(String path) {
+        byte[] contents = files.get(path);
+        return contents == null ? null : new String(contents, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,22 @@
+package io.swagger.codegen.output;
+
+import java.io.File;
+
+final class OutputPaths {
+
+    private OutputPaths() {
+    }
+
+    /**
+     * @return the path of a file relative to the root folder, using '/' as separator; files outside of the
+     * root folder keep their absolute path
+     */
+    static String relativize(File root, String filename) {
+        String path = new File(filename).getAbsoluteFile().toURI().getPath();
+        String base = root.getAbsoluteFile().toURI().getPath();
+        if (!base.endsWith("/")) {
+            base += "/";
+        }
+        return path.startsWith(base) ? path.substring(base.length()) : path;
+    }
+}
@@ -0,0 +1,33 @@
+package io.swagger.codegen.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Destination of the files written by a generator.
+ * <p>
+ * Generators address files by the paths they compute below the output folder; a sink decides where the
+ * bytes go (the file system, memory, a zip stream, ...). Implementations must allow several files to be
+ * written concurrently, as renders may run in parallel.
+ */
+public interface OutputSink {
+
+    /**
+     * Opens a file for writing, replacing any previous contents. The caller closes the stream; the file
+     * is complete once the stream is closed.
+     *
+     * @param filename path of the file, as computed by the generator
+     * @return stream receiving the contents of the file
+     * @throws IOException if the file can't be opened
+     */
+    OutputStream newOutputStream(String filename) throws IOException;
+
+    /**
+     * Abandons a file whose contents could not be written completely. The stream has not been closed by the
+     * caller, and the file must not be visible as generated.
+     *
+     * @param filename path of the file, as computed by the generator
+     * @param stream   stream returned by {@link #newOutputStream(String)} for the file
+     */
+    void discard(String filename, OutputStream stream);
+}
@@ -0,0 +1,76 @@
+package io.swagger.codegen.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes generated files as entries of a zip stream, named by their path relative to the output folder
+ * and an optional prefix folder.
+ * <p>
+ * Zip entries can't be replaced once written, so files are kept in memory until {@link #finish()} adds them to
+ * the stream: a file written more than once ends up with its last version, as on the file system. The caller
+ * then finishes and closes the zip stream.
+ */
+public class ZipOutputSink implements OutputSink {
+    private final ZipOutputStream zip;
+    private final File root;
+    private final String prefix;
+    private final Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+
+    /**
+     * @param zip    stream receiving the entries
+     * @param root   output folder of the generator
+     * @param prefix folder the entries are placed in, or null to place them at the root of the archive
+     */
+    public ZipOutputSink(ZipOutputStream zip, String root, String prefix) {
+        this.zip = zip;
+        this.root = new File(root);
+        this.prefix = prefix == null || prefix.isEmpty() ? "" : prefix + "/";
+    }
+
+    @Override
+    public OutputStream newOutputStream(String filename) throws IOException {
+        final String entry = prefix + OutputPaths.relativize(root, filename);
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                synchronized (entries) {
+                    entries.put(entry, toByteArray());
+                }
+            }
+        };
+    }
+
+    @Override
+    public void discard(String filename, OutputStream stream) {
+        // contents are only kept once the stream is closed
+    }
+
+    /**
+     * Adds the files written so far to the zip stream, in the order they were first written.
+     *
+     * @throws IOException if the zip stream can't be written
+     */
+    public void finish() throws IOException {
+        synchronized (entries) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package io.swagger.codegen.utils;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inheritance and reference relations between the definitions of a spec, computed once so that ordering models
+ * and converting them does not walk the allOf chains again for every comparison and every model.
+ * <p>
+ * The graph is a snapshot of the definitions it was built from: definitions added or replaced afterwards are
+ * not taken into account. Instances are thread safe.
+ */
+public class ModelGraph {
+    private final Map<String, Model> definitions;
+    private final int size;
+    private final Map<String, String> parents = new HashMap<String, String>();
+    private final Map<String, List<String>> interfaces = new HashMap<String, List<String>>();
+    private final Map<String, List<String>> children = new HashMap<String, List<String>>();
+    private final Map<String, Integer> depths = new HashMap<String, Integer>();
+    private final Map<String, String> discriminators = new HashMap<String, String>();
+    private final Map<String, Set<String>> referencedBy = new HashMap<String, Set<String>>();
+
+    private final Map<String, Boolean> discriminatorInInterfaceTree = new ConcurrentHashMap<String, Boolean>();
+    private final Map<String, Properties> flattenedProperties = new ConcurrentHashMap<String, Properties>();
+
+    /**
+     * @param definitions definitions of the spec, may be null
+     */
+    public ModelGraph(Map<String, Model> definitions) {
+        this.definitions = definitions != null ? definitions : Collections.<String, Model>emptyMap();
+        this.size = this.definitions.size();
+        for (Map.Entry<String, Model> entry : this.definitions.entrySet()) {
+            index(entry.getKey(), entry.getValue());
+        }
+        for (String name : this.definitions.keySet()) {
+            computeDepth(name, new HashSet<String>());
+        }
+    }
+
+    private void index(String name, Model model) {
+        Set<String> references = new LinkedHashSet<String>();
+        if (model instanceof ComposedModel) {
+            ComposedModel composed = (ComposedModel) model;
+            List<String> names = new ArrayList<String>();
+            if (composed.getInterfaces() != null) {
+                for (RefModel ref : composed.getInterfaces()) {
+                    names.add(ref.getSimpleRef());
+                }
+            }
+            interfaces.put(name, Collections.unmodifiableList(names));
+            String parent = parentOf(composed, names);
+            if (parent != null) {
+                parents.put(name, parent);
+                List<String> siblings = children.get(parent);
+                if (siblings == null) {
+                    siblings = new ArrayList<String>();
+                    children.put(parent, siblings);
+                }
+                siblings.add(name);
+            }
+            if (composed.getChild() instanceof ModelImpl) {
+                putDiscriminator(name, (ModelImpl) composed.getChild());
+            }
+            for (Model component : composed.getAllOf()) {
+                addReferences(references, component);
+            }
+        } else if (model instanceof ModelImpl) {
+            ModelImpl impl = (ModelImpl) model;
+            putDiscriminator(name, impl);
+            addReferences(references, impl);
+        } else {
+            addReferences(references, model);
+        }
+        for (String reference : references) {
+            Set<String> referrers = referencedBy.get(reference);
+            if (referrers == null) {
+                referrers = new LinkedHashSet<String>();
+                referencedBy.put(reference, referrers);
+            }
+            referrers.add(name);
+        }
+    }
+
+    private String parentOf(ComposedModel composed, List<String> interfaceNames) {
+        Model parent = composed.getParent();
+        if (parent != null) {
+            // an explicit parent is looked up by its full reference, as generators always did for ordering
+            String reference = parent.getReference();
+            return definitions.get(reference) != null ? reference : null;
+        }
+        if (!interfaceNames.isEmpty() && definitions.get(interfaceNames.get(0)) != null) {
+            return interfaceNames.get(0);
+        }
+        return null;
+    }
+
+    private void putDiscriminator(String name, ModelImpl impl) {
+        if (impl.getDiscriminator() != null) {
+            discriminators.put(name, impl.getDiscriminator());
+        }
+    }
+
+    private static void addReferences(Set<String> references, Model model) {
+        if (model instanceof RefModel) {
+            references.add(((RefModel) model).getSimpleRef());
+        } else if (model instanceof ArrayModel) {
+            addReferences(references, ((ArrayModel) model).getItems());
+        } else if (model instanceof ModelImpl) {
+            ModelImpl impl = (ModelImpl) model;
+            if (impl.getProperties() != null) {
+                for (Property property : impl.getProperties().values()) {
+                    addReferences(references, property);
+                }
+            }
+            addReferences(references, impl.getAdditionalProperties());
+        }
+    }
+
+    private static void addReferences(Set<String> references, Property property) {
+        if (property instanceof RefProperty) {
+            references.add(((RefProperty) property).getSimpleRef());
+        } else if (property instanceof ArrayProperty) {
+            addReferences(references, ((ArrayProperty) property).getItems());
+        } else if (property instanceof MapProperty) {
+            addReferences(references, ((MapProperty) property).getAdditionalProperties());
+        } else if (property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null) {
+            for (Property inner : ((ObjectProperty) property).getProperties().values()) {
+                addReferences(references, inner);
+            }
+        }
+    }
+
+    private int computeDepth(String name, Set<String> visiting) {
+        Integer depth = depths.get(name);
+        if (depth != null) {
+            return depth;
+        }
+        String parent = parents.get(name);
+        if (parent == null || !visiting.add(name)) {
+            // no parent, or a cycle in the hierarchy
+            depth = 0;
+        } else {
+            depth = computeDepth(parent, visiting) + 1;
+            visiting.remove(name);
+        }
+        depths.put(name, depth);
+        return depth;
+    }
+
+    /**
+     * @param definitions definitions of a spec
+     * @return true if this graph was built from these definitions and none were added or removed since
+     */
+    public boolean isGraphOf(Map<String, Model> definitions) {
+        return definitions == this.definitions && definitions.size() == size;
+    }
+
+    /**
+     * @param name definition name
+     * @return name of the model the definition inherits from: its explicit parent, or else the first model of its
+     * allOf
+     */
+    public String getParent(String name) {
+        return parents.get(name);
+    }
+
+    /**
+     * @param name definition name
+     * @return names of the models referenced in the allOf of the definition
+     */
+    public List<String> getInterfaces(String name) {
+        List<String> names = interfaces.get(name);
+        return names != null ? names : Collections.<String>emptyList();
+    }
+
+    /**
+     * @param name definition name
+     * @return names of the definitions whose parent is the given one, see {@link #getParent(String)}
+     */
+    public List<String> getChildren(String name) {
+        List<String> names = children.get(name);
+        return names != null ? Collections.unmodifiableList(names) : Collections.<String>emptyList();
+    }
+
+    /**
+     * @param name definition name
+     * @return number of models above the definition, following {@link #getParent(String)}; 0 for unknown names
+     */
+    public int getInheritanceDepth(String name) {
+        Integer depth = depths.get(name);
+        return depth != null ? depth : 0;
+    }
+
+    /**
+     * @param name definition name
+     * @return discriminator declared by the definition itself or by the inline schema of its allOf
+     */
+    public String getDiscriminator(String name) {
+        return discriminators.get(name);
+    }
+
+    /**
+     * @param name definition name
+     * @return names of the definitions referencing the given one from a property, an allOf or array items
+     */
+    public Set<String> getReferencedBy(String name) {
+        Set<String> names = referencedBy.get(name);
+        return names != null ? Collections.unmodifiableSet(names) : Collections.<String>emptySet();
+    }
+
+    /**
+     * Whether a composed definition or the models in its allOf declare a discriminator. As generators always
+     * did, only the first composed model found in the allOf is searched further.
+     *
+     * @param name name of a composed definition
+     * @return true if a discriminator was found
+     */
+    public boolean hasDiscriminatorInInterfaceTree(String name) {
+        Boolean result = discriminatorInInterfaceTree.get(name);
+        if (result == null) {
+            result = searchDiscriminator(name, new HashSet<String>());
+            discriminatorInInterfaceTree.put(name, result);
+        }
+        return result;
+    }
+
+    private boolean searchDiscriminator(String name, Set<String> visiting) {
+        Model model = definitions.get(name);
+        if (!(model instanceof ComposedModel) || !visiting.add(name)) {
+            return false;
+        }
+        ComposedModel composed = (ComposedModel) model;
+        Model child = composed.getChild();
+        if (child instanceof ModelImpl && ((ModelImpl) child).getDiscriminator() != null) {
+            return true;
+        }
+        for (String interfaceName : getInterfaces(name)) {
+            Model interfaceModel = definitions.get(interfaceName);
+            if (interfaceModel instanceof ModelImpl && ((ModelImpl) interfaceModel).getDiscriminator() != null) {
+                return true;
+            }
+            if (interfaceModel instanceof ComposedModel) {
+                return searchDiscriminator(interfaceName, visiting);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the properties of a definition, including the ones inherited through allOf, in allOf order.
+     *
+     * @param name       definition name
+     * @param properties properties to add to
+     * @param required   required property names to add to
+     */
+    public void addProperties(String name, Map<String, Property> properties, List<String> required) {
+        Properties flattened = flattenedProperties.get(name);
+        if (flattened == null) {
+            flattened = new Properties();
+            flatten(definitions.get(name), flattened, new HashSet<String>(Collections.singleton(name)));
+            flattenedProperties.put(name, flattened);
+        }
+        properties.putAll(flattened.properties);
+        required.addAll(flattened.required);
+    }
+
+    private void flatten(Model model, Properties flattened, Set<String> visiting) {
+        if (model instanceof ModelImpl) {
+            ModelImpl impl = (ModelImpl) model;
+            if (impl.getProperties() != null) {
+                flattened.properties.putAll(impl.getProperties());
+            }
+            if (impl.getRequired() != null) {
+                flattened.required.addAll(impl.getRequired());
+            }
+        } else if (model instanceof RefModel) {
+            String reference = ((RefModel) model).getSimpleRef();
+            // a cycle in the allOf chains adds nothing more
+            if (visiting.add(reference)) {
+                flatten(definitions.get(reference), flattened, visiting);
+                visiting.remove(reference);
+            }
+        } else if (model instanceof ComposedModel) {
+            for (Model component : ((ComposedModel) model).getAllOf()) {
+                flatten(component, flattened, visiting);
+            }
+        }
+    }
+
+    private static class Properties {
+        private final Map<String, Property> properties = new LinkedHashMap<String, Property>();
+        private final List<String> required = new ArrayList<String>();
+    }
+}
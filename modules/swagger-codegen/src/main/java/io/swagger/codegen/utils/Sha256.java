@@ -0,0 +1,55 @@
+package io.swagger.codegen.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digests as hex strings, used to fingerprint generated files, inline models and specs.
+ */
+public class Sha256 {
+
+    /**
+     * @param parts strings to digest, null ones included
+     * @return the hex SHA-256 digest of the parts
+     */
+    public static String digest(String... parts) {
+        MessageDigest md = newDigest();
+        for (String part : parts) {
+            update(md, part);
+        }
+        return hex(md.digest());
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Adds a string to a digest, delimited so that e.g. ("ab", "c") and ("a", "bc") differ.
+     *
+     * @param md    digest
+     * @param value string to add, or null
+     */
+    public static void update(MessageDigest md, String value) {
+        if (value == null) {
+            md.update((byte) 0);
+        } else {
+            md.update((byte) 1);
+            md.update(value.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+        }
+    }
+
+    public static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package io.swagger.codegen.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.parser.util.DeserializationUtils;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the local files a spec is made of: the spec itself and the files its relative {@code $ref}s point to,
+ * recursively. Remote specs and references are left out.
+ */
+public class SpecFiles {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecFiles.class);
+
+    /**
+     * @param location location of the spec, as URL or file
+     * @return the spec file followed by the files it refers to, or nothing if the spec is not a local file
+     */
+    public static Set<File> collect(String location) {
+        Set<File> files = new LinkedHashSet<File>();
+        if (location == null || location.isEmpty() || location.contains("://") && !location.startsWith("file:")) {
+            return files;
+        }
+        Path root = location.startsWith("file:") ? Paths.get(URI.create(location)) : Paths.get(location);
+        File file = root.toAbsolutePath().normalize().toFile();
+        if (!file.isFile()) {
+            return files;
+        }
+
+        List<File> pending = new ArrayList<File>();
+        pending.add(file);
+        files.add(file);
+        while (!pending.isEmpty()) {
+            File current = pending.remove(pending.size() - 1);
+            for (String ref : references(current)) {
+                File referenced = new File(current.getParentFile(), ref).toPath().normalize().toFile();
+                if (referenced.isFile() && files.add(referenced)) {
+                    pending.add(referenced);
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * @return the file parts of the relative references of a JSON or YAML file
+     */
+    private static Set<String> references(File file) {
+        JsonNode node;
+        try {
+            String data = FileUtils.readFileToString(file, "UTF-8");
+            node = data.trim().startsWith("{") ? Json.mapper().readTree(data) : DeserializationUtils.readYamlTree(data);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Unable to read the references of " + file, e);
+            return new LinkedHashSet<String>();
+        }
+        Set<String> references = new LinkedHashSet<String>();
+        for (String reference : references(node)) {
+            if (!reference.contains("://")) {
+                references.add(reference);
+            }
+        }
+        return references;
+    }
+
+    /**
+     * @param node a JSON or YAML document
+     * @return the documents it refers to, i.e. the parts before the fragment of its {@code $ref}s to other
+     * documents, as written
+     */
+    public static Set<String> references(JsonNode node) {
+        Set<String> references = new LinkedHashSet<String>();
+        List<JsonNode> pending = new ArrayList<JsonNode>();
+        if (node != null) {
+            pending.add(node);
+        }
+        while (!pending.isEmpty()) {
+            JsonNode current = pending.remove(pending.size() - 1);
+            Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if ("$ref".equals(field.getKey()) && field.getValue().isTextual()) {
+                    String ref = field.getValue().textValue();
+                    int fragment = ref.indexOf('#');
+                    String path = fragment < 0 ? ref : ref.substring(0, fragment);
+                    if (!path.isEmpty()) {
+                        references.add(path);
+                    }
+                }
+            }
+            for (JsonNode child : current) {
+                pending.add(child);
+            }
+        }
+        return references;
+    }
+}
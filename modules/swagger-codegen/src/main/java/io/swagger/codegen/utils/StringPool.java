@@ -0,0 +1,35 @@
+package io.swagger.codegen.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical instances of equal strings, so that the names and types repeated by the properties of large specs
+ * (e.g. "String", "getId", "null") are held once instead of once per property.
+ * <p>
+ * Unlike {@link String#intern()} the strings are released with the pool, so a pool can be cleared between the
+ * generations of a long-lived process. Instances are thread safe.
+ */
+public class StringPool {
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<String, String>();
+
+    /**
+     * @param value a string, or null
+     * @return the pooled string equal to the value, or null
+     */
+    public String get(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = strings.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+
+    public void clear() {
+        strings.clear();
+    }
+}
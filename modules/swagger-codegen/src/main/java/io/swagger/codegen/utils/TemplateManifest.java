@@ -0,0 +1,140 @@
+package io.swagger.codegen.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index of the templates packaged with swagger-codegen, so that looking up whether an embedded template exists
+ * does not have to go through the class loader.
+ * <p>
+ * The index is written at build time by {@link #main(String[])} to {@value #LOCATION}. It lists every file below
+ * the top-level template folders of the jar. Other jars may add templates anywhere on the classpath, also below
+ * these folders (e.g. {@code Java/libraries/<custom>/}), so a template missing from the index still has to be
+ * looked up on the classpath. When the index is not available, it contains nothing.
+ */
+public class TemplateManifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateManifest.class);
+
+    public static final String LOCATION = "META-INF/swagger-codegen/templates.idx";
+
+    private final Set<String> files;
+
+    TemplateManifest(Set<String> files) {
+        this.files = files;
+    }
+
+    public static TemplateManifest getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @param resourcePath classpath resource path of a template, using '/' as separator
+     * @return true if the template is packaged with swagger-codegen
+     */
+    public boolean contains(String resourcePath) {
+        return files.contains(stripLeadingSlash(resourcePath));
+    }
+
+    private static String stripLeadingSlash(String resourcePath) {
+        return resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
+    }
+
+    static TemplateManifest load(InputStream in) throws IOException {
+        Set<String> files = new HashSet<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    files.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new TemplateManifest(files);
+    }
+
+    /**
+     * Writes the manifest of the templates found in a classes/resources folder.
+     *
+     * @param args the output folder of the build, containing the embedded templates
+     * @throws IOException if the folder can't be read or the manifest can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("usage: TemplateManifest <classes folder>");
+        }
+        final Path root = Paths.get(args[0]);
+        final Set<String> files = new TreeSet<String>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                Path relative = root.relativize(dir);
+                if (relative.getNameCount() == 1 && "META-INF".equals(relative.toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                Path relative = root.relativize(file);
+                if (relative.getNameCount() > 1 && !relative.toString().endsWith(".class")) {
+                    files.add(relative.toString().replace(File.separatorChar, '/'));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        Path manifest = root.resolve(LOCATION.replace('/', File.separatorChar));
+        Files.createDirectories(manifest.getParent());
+        Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(manifest), StandardCharsets.UTF_8));
+        try {
+            for (String file : files) {
+                out.write(file);
+                out.write('\n');
+            }
+        } finally {
+            out.close();
+        }
+        LOGGER.info("indexed " + files.size() + " embedded templates in " + manifest);
+    }
+
+    private static class Holder {
+        private static final TemplateManifest INSTANCE = loadFromClasspath();
+
+        private static TemplateManifest loadFromClasspath() {
+            InputStream in = TemplateManifest.class.getClassLoader().getResourceAsStream(LOCATION);
+            if (in == null) {
+                return new TemplateManifest(Collections.<String>emptySet());
+            }
+            try {
+                return load(in);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read " + LOCATION + ", embedded templates will be looked up on the classpath", e);
+                return new TemplateManifest(Collections.<String>emptySet());
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.languages.SpringCodegen;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class CodegenConfigRegistryTest {
+
+    @Test
+    public void testSameGeneratorsAsServiceLoader() throws Exception {
+        List<String> names = new ArrayList<String>();
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            names.add(config.getName());
+        }
+
+        assertEquals(CodegenConfigRegistry.getInstance().getNames(), names);
+        assertTrue(CodegenConfigLoader.forName("spring") instanceof SpringCodegen);
+        assertNotSame(CodegenConfigLoader.forName("spring"), CodegenConfigLoader.forName("spring"));
+    }
+
+    @Test
+    public void testIndexedNamesAreUsed() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        Map<String, CodegenConfigRegistry.Entry> index = CodegenConfigRegistry.readIndex(classLoader,
+                new ByteArrayInputStream((JavaClientCodegen.class.getName() + "\tindexed-java\tCLIENT\n")
+                        .getBytes(StandardCharsets.UTF_8)));
+        Set<String> providers = new LinkedHashSet<String>(Arrays.asList(
+                JavaClientCodegen.class.getName(), SpringCodegen.class.getName()));
+        CodegenConfigRegistry registry = new CodegenConfigRegistry(classLoader, providers, index);
+
+        assertTrue(registry.newInstance("indexed-java") instanceof JavaClientCodegen);
+        assertNull(registry.newInstance("java"));
+        // not indexed, found by its instance
+        assertTrue(registry.newInstance("spring") instanceof SpringCodegen);
+        assertEquals(registry.getEntries().get(1).getTag(), CodegenType.SERVER);
+    }
+
+    @Test
+    public void testRegistryDoesNotHoldClassLoader() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            assertFalse(CodegenConfigRegistry.getInstance().getNames().isEmpty());
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+
+        WeakReference<ClassLoader> reference = new WeakReference<ClassLoader>(classLoader);
+        classLoader = null;
+        for (int i = 0; i < 20 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void testWritesIndexOfClassesFolder() throws Exception {
+        File classes = Files.createTempDirectory("generator-index").toFile();
+        try {
+            File services = new File(classes, CodegenConfigRegistry.SERVICES);
+            FileUtils.writeStringToFile(services, "# generators\n" + JavaClientCodegen.class.getName() + "\n"
+                    + SpringCodegen.class.getName() + " # server\n", "UTF-8");
+
+            CodegenConfigRegistry.main(new String[]{classes.getAbsolutePath()});
+
+            File index = new File(classes, CodegenConfigRegistry.LOCATION);
+            Map<String, CodegenConfigRegistry.Entry> entries =
+                    CodegenConfigRegistry.readIndex(getClass().getClassLoader(), new FileInputStream(index));
+            assertEquals(entries.size(), 2);
+            assertEquals(entries.get(JavaClientCodegen.class.getName()).getName(), "java");
+            assertEquals(entries.get(JavaClientCodegen.class.getName()).getTag(), CodegenType.CLIENT);
+            assertEquals(entries.get(SpringCodegen.class.getName()).getName(), "spring");
+        } finally {
+            FileUtils.deleteDirectory(classes);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package io.swagger.codegen;
 
+import com.samskivert.mustache.Mustache;
 import io.swagger.models.Model;
 import io.swagger.models.Operation;
 import io.swagger.models.Swagger;
 import io.swagger.models.properties.Property;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -431,4 +433,45 @@ public class CodegenTest {
 
         Assert.assertTrue(op.isDeprecated);
     }
+
+    @Test(description = "render the JSON of the spec when it is used")
+    public void jsonSchemaRenderedOnUseTest() {
+        final Swagger swagger = parseAndPrepareSwagger("src/test/resources/2_0/petstore.json");
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final Model model = swagger.getDefinitions().get("Pet");
+        final CodegenModel cm = codegen.fromModel("Pet", model, swagger.getDefinitions());
+        final Operation operation = swagger.getPaths().get("/pet/{petId}").getGet();
+        final CodegenOperation op = codegen.fromOperation("/pet/{petId}", "get", operation, swagger.getDefinitions(), swagger);
+
+        Assert.assertNull(cm.modelJson);
+        Assert.assertEquals(cm.getModelJson(), Json.pretty(model));
+        Assert.assertNull(cm.vars.get(0).jsonSchema);
+        Assert.assertEquals(cm.vars.get(0).getJsonSchema(), Json.pretty(model.getProperties().get("id")));
+        Assert.assertNull(op.allParams.get(0).jsonSchema);
+        Assert.assertEquals(op.allParams.get(0).getJsonSchema(), Json.pretty(operation.getParameters().get(0)));
+        Assert.assertEquals(op.responses.get(0).getJsonSchema(), Json.pretty(operation.getResponses().get("200")));
+        // templates go through the getters
+        Assert.assertEquals(Mustache.compiler().escapeHTML(false).compile("{{modelJson}}").execute(cm), Json.pretty(model));
+
+        codegen.renderJsonSchema = true;
+        final CodegenModel rendered = codegen.fromModel("Pet", model, swagger.getDefinitions());
+        Assert.assertEquals(rendered.modelJson, Json.pretty(model));
+        Assert.assertEquals(rendered.vars.get(0).jsonSchema, Json.pretty(model.getProperties().get("id")));
+    }
+
+    @Test(description = "properties of converted models share equal strings")
+    public void sharedPropertyStringsTest() {
+        final Swagger model = parseAndPrepareSwagger("src/test/resources/2_0/petstore.yaml");
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final CodegenModel pet = codegen.fromModel("Pet", model.getDefinitions().get("Pet"), model.getDefinitions());
+        final CodegenModel category = codegen.fromModel("Category", model.getDefinitions().get("Category"), model.getDefinitions());
+
+        final CodegenProperty petId = pet.vars.get(0);
+        final CodegenProperty categoryId = category.vars.get(0);
+        Assert.assertEquals(petId.baseName, "id");
+        Assert.assertEquals(categoryId.baseName, "id");
+        Assert.assertSame(petId.getter, categoryId.getter);
+        Assert.assertSame(petId.datatype, categoryId.datatype);
+        Assert.assertSame(pet.requiredVars.get(0), pet.vars.get(2));
+    }
 }
@@ -1,10 +1,21 @@
 package io.swagger.codegen;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.MustacheException;
+import com.samskivert.mustache.Template;
 import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.languages.SwaggerGenerator;
+import io.swagger.codegen.output.InMemoryOutputSink;
 import io.swagger.models.ExternalDocs;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
 import io.swagger.models.Swagger;
 import io.swagger.models.Tag;
+import io.swagger.models.properties.StringProperty;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.rules.TemporaryFolder;
@@ -256,6 +267,235 @@ public class DefaultGeneratorTest {
         assertTrue(containsOverloadedComments(apiClient, LIBRARY_COMMENT));
     }
 
+    @Test
+    public void testParallelGenerationMatchesSequential() throws Exception {
+        final File sequential = folder.newFolder("sequential");
+        final File parallel = folder.newFolder("parallel");
+
+        List<File> sequentialFiles = generatePetstore(sequential, 1);
+        List<File> parallelFiles = generatePetstore(parallel, 4);
+
+        assertEquals(parallelFiles.size(), sequentialFiles.size());
+        for (int i = 0; i < sequentialFiles.size(); i++) {
+            String relative = sequential.toURI().relativize(sequentialFiles.get(i).toURI()).getPath();
+            assertEquals(parallel.toURI().relativize(parallelFiles.get(i).toURI()).getPath(), relative);
+            assertEquals(FileUtils.readFileToString(parallelFiles.get(i), UTF_8),
+                    FileUtils.readFileToString(sequentialFiles.get(i), UTF_8), relative);
+        }
+    }
+
+    @Test
+    public void testStreamingGenerationMatchesDefault() throws Exception {
+        final File regular = folder.newFolder("regular");
+        final File streaming = folder.newFolder("streaming");
+
+        List<File> regularFiles = generatePetstore(regular, new ClientOptInput());
+        List<File> streamingFiles = generatePetstore(streaming, new ClientOptInput().streaming(true));
+
+        assertEquals(streamingFiles.size(), regularFiles.size());
+        for (int i = 0; i < regularFiles.size(); i++) {
+            String relative = regular.toURI().relativize(regularFiles.get(i).toURI()).getPath();
+            assertEquals(streaming.toURI().relativize(streamingFiles.get(i).toURI()).getPath(), relative);
+            assertEquals(FileUtils.readFileToString(streamingFiles.get(i), UTF_8),
+                    FileUtils.readFileToString(regularFiles.get(i), UTF_8), relative);
+        }
+    }
+
+    @Test
+    public void testTemplateCacheReusedAcrossRuns() throws Exception {
+        final TemplateCache templateCache = new TemplateCache();
+
+        generateWithTemplateCache(templateCache, null);
+        int cached = templateCache.size();
+        assertTrue(cached > 0);
+        assertTrue(new File(folder.getRoot(), MODEL_ORDER_FILE).exists());
+
+        // same config: every template is served from the cache
+        generateWithTemplateCache(templateCache, null);
+        assertEquals(templateCache.size(), cached);
+
+        // a different library resolves (partly) to different templates
+        generateWithTemplateCache(templateCache, "jersey2");
+        assertTrue(templateCache.size() > cached);
+    }
+
+    @Test
+    public void testIncrementalGenerationSkipsUnchangedFiles() throws Exception {
+        final File output = folder.getRoot();
+        final File order = new File(output, MODEL_ORDER_FILE);
+        final File category = new File(output, "/src/main/java/io/swagger/client/model/Category.java");
+
+        List<File> files = generateIncremental(output, new SwaggerParser().read("src/test/resources/petstore.json"));
+        assertTrue(files.contains(order));
+        assertTrue(new File(output, FileFingerprints.LOCATION).exists());
+
+        // unchanged inputs: neither rendered nor written
+        Files.write(order.toPath(), "edited".getBytes(UTF_8));
+        assertTrue(category.delete());
+        files = generateIncremental(output, new SwaggerParser().read("src/test/resources/petstore.json"));
+        assertFalse(files.contains(order));
+        assertEquals(FileUtils.readFileToString(order, UTF_8), "edited");
+        // missing files are generated again
+        assertTrue(files.contains(category));
+        assertTrue(category.exists());
+
+        // changed model: only the files depending on it are generated
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        ((ModelImpl) swagger.getDefinitions().get("Category")).addProperty("label", new StringProperty());
+        files = generateIncremental(output, swagger);
+        assertTrue(files.contains(category));
+        assertTrue(FileUtils.readFileToString(category, UTF_8).contains("label"));
+        assertFalse(files.contains(order));
+        assertEquals(FileUtils.readFileToString(order, UTF_8), "edited");
+    }
+
+    @Test
+    public void testWriteTemplateToFile() throws Exception {
+        final File output = new File(folder.getRoot(), "streamed/out.txt");
+        final Template template = Mustache.compiler().compile("{{#items}}{{name}};{{/items}}{{#fail}}{{boom}}{{/fail}}");
+        final Map<String, Object> data = new HashMap<String, Object>();
+        data.put("items", Arrays.asList(Collections.singletonMap("name", "a"), Collections.singletonMap("name", "\u00e9")));
+
+        File written = new DefaultGenerator().writeToFile(output.getPath(), template, data);
+        assertEquals(written, output);
+        assertEquals(FileUtils.readFileToString(output, UTF_8), "a;\u00e9;");
+
+        // a failing template keeps the previous file and does not leave a partial file behind
+        data.put("fail", true);
+        try {
+            new DefaultGenerator().writeToFile(output.getPath(), template, data);
+            fail("Expected template failure");
+        } catch (MustacheException e) {
+            assertEquals(FileUtils.readFileToString(output, UTF_8), "a;\u00e9;");
+            assertEquals(output.getParentFile().list(), new String[]{"out.txt"});
+        }
+    }
+
+    @Test
+    public void testGenerateToInMemorySink() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        InMemoryOutputSink sink = new InMemoryOutputSink(output.getAbsolutePath());
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setOutputSink(sink);
+        List<File> files = generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig)).generate();
+
+        assertEquals(sink.getFiles().size(), files.size());
+        assertTrue(sink.getContents("src/main/java/io/swagger/client/model/Order.java").contains("public class Order"));
+        assertNotNull(sink.getContents(".swagger-codegen/VERSION"));
+        assertNotNull(sink.getContents("gradle/wrapper/gradle-wrapper.jar"));
+        assertEquals(output.list().length, 0);
+    }
+
+    @Test
+    public void testFilesWrittenByConfigGoToSink() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new SwaggerGenerator();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        InMemoryOutputSink sink = new InMemoryOutputSink(output.getAbsolutePath());
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setOutputSink(sink);
+        generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig)).generate();
+
+        assertTrue(sink.getContents("swagger.json").contains("\"swagger\" : \"2.0\""));
+        assertEquals(output.list().length, 0);
+    }
+
+    @Test
+    public void testTimings() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        final List<String> phases = new ArrayList<String>();
+        final List<GenerationMetrics> completed = new ArrayList<GenerationMetrics>();
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.addListener(new GenerationListener() {
+            @Override
+            public void phaseCompleted(String phase, long nanos) {
+                phases.add(phase);
+            }
+
+            @Override
+            public void generationCompleted(GenerationMetrics metrics) {
+                completed.add(metrics);
+            }
+        });
+        ClientOptInput input = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig).timings(true);
+        List<File> files = generator.opts(input).generate();
+
+        assertEquals(phases, Arrays.asList(GenerationMetrics.FLATTEN, GenerationMetrics.MODELS,
+                GenerationMetrics.APIS, GenerationMetrics.SUPPORTING_FILES));
+        assertEquals(completed.size(), 1);
+        GenerationMetrics metrics = completed.get(0);
+        assertTrue(metrics.getFiles() > 0);
+        assertTrue(metrics.getBytes() > 0);
+        assertTrue(metrics.getPhases().containsKey(GenerationMetrics.TOTAL));
+        assertEquals(metrics.getPhases().get(GenerationMetrics.FROM_MODEL).getCount(), swagger.getDefinitions().size());
+        assertEquals(metrics.getTemplates().get("model.mustache").getCount(), swagger.getDefinitions().size());
+
+        File timings = new File(output, GenerationMetrics.LOCATION);
+        assertTrue(files.contains(timings));
+        JsonNode json = Json.mapper().readTree(timings);
+        assertEquals(json.get("files").asLong(), metrics.getFiles());
+        assertTrue(json.get("phases").has(GenerationMetrics.TOTAL));
+
+        // files which are not rendered are listed too
+        assertEquals(metrics.getTemplates().get("gradle-wrapper.jar").getCount(), 1);
+        assertEquals(metrics.getTemplates().get("VERSION").getCount(), 1);
+        long listed = 0;
+        for (GenerationMetrics.Stat stat : metrics.getTemplates().values()) {
+            listed += stat.getCount();
+        }
+        assertEquals(listed, metrics.getFiles());
+
+        // generating the same input again does not add up the runs
+        new DefaultGenerator().opts(input).generate();
+        assertEquals(input.getMetrics().getPhases().get(GenerationMetrics.TOTAL).getCount(), 1);
+        assertEquals(input.getMetrics().getTemplates().get("model.mustache").getCount(), swagger.getDefinitions().size());
+    }
+
+    private static List<File> generateIncremental(File output, Swagger swagger) {
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig).incremental(true);
+        return new DefaultGenerator().opts(clientOptInput).generate();
+    }
+
+    private void generateWithTemplateCache(TemplateCache templateCache, String library) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        if (library != null) {
+            codegenConfig.setLibrary(library);
+        }
+        codegenConfig.setOutputDir(folder.getRoot().getAbsolutePath());
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setTemplateCache(templateCache);
+        generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig)).generate();
+    }
+
+    private static List<File> generatePetstore(File output, int workers) {
+        return generatePetstore(output, new ClientOptInput().workers(workers));
+    }
+
+    private static List<File> generatePetstore(File output, ClientOptInput clientOptInput) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+
+        clientOptInput.opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        return new DefaultGenerator().opts(clientOptInput).generate();
+    }
+
     @Test
     public void testGenerateUniqueOperationIds() {
         final File output = folder.getRoot();
@@ -390,6 +630,70 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void testOperationWithSeveralTagsConvertedOnce() {
+        final File output = folder.getRoot();
+
+        String spec =
+                "swagger: '2.0'\n" +
+                "info:\n" +
+                "  version: 1.0.0\n" +
+                "  title: Swagger Petstore\n" +
+                "paths:\n" +
+                "  /pet:\n" +
+                "    post:\n" +
+                "      tags:\n" +
+                "        - pet\n" +
+                "        - store\n" +
+                "        - user\n" +
+                "      parameters:\n" +
+                "        - name: body\n" +
+                "          in: body\n" +
+                "          schema:\n" +
+                "            type: string\n" +
+                "        - name: dryRun\n" +
+                "          in: query\n" +
+                "          type: boolean\n" +
+                "      responses:\n" +
+                "        '200':\n" +
+                "          description: OK\n" +
+                "          schema:\n" +
+                "            type: string";
+
+        final Swagger swagger = new SwaggerParser().readWithInfo(spec).getSwagger();
+        final int[] conversions = {0};
+        CodegenConfig codegenConfig = new JavaClientCodegen() {
+            @Override
+            public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, Map<String, Model> definitions, Swagger swagger) {
+                conversions[0]++;
+                return super.fromOperation(path, httpMethod, operation, definitions, swagger);
+            }
+        };
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(clientOptInput);
+
+        Map<String, List<CodegenOperation>> paths = generator.processPaths(swagger.getPaths());
+        assertEquals(conversions[0], 1);
+        assertEquals(paths.size(), 3);
+
+        CodegenOperation pet = paths.get("Pet").get(0);
+        CodegenOperation store = paths.get("Store").get(0);
+        assertNotSame(pet, store);
+        assertNotSame(pet.allParams, store.allParams);
+        assertNotSame(pet.allParams.get(0), store.allParams.get(0));
+        assertNotSame(pet.responses.get(0), store.responses.get(0));
+        assertEquals(store.operationId, pet.operationId);
+        assertEquals(store.returnType, pet.returnType);
+        assertEquals(store.allParams, pet.allParams);
+        assertEquals(store.responses, pet.responses);
+        assertEquals(store.tags, pet.tags);
+        assertSame(store.bodyParam, store.allParams.get(0));
+    }
+
     @Test
     public void testResolveTagsNoTagsDefined() {
         final File output = folder.getRoot();
@@ -5,6 +5,7 @@ import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
 import io.swagger.models.Xml;
 import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.IntegerProperty;
 import io.swagger.models.properties.RefProperty;
 import io.swagger.models.properties.StringProperty;
 
@@ -14,6 +15,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -70,4 +72,23 @@ public class ExampleGeneratorTest {
         Assert.assertEqualsNoOrder(types.toArray(new String[types.size()]),
                 expectedTypes.toArray(new String[expectedTypes.size()]));
     }
+
+    @Test(description = "examples of model references are shared through the cache")
+    public void cachedExamplesTest() {
+        final String JSON = "application/json";
+        final Map<String, Model> definitions = ImmutableMap.<String, Model>of("Tag",
+                new ModelImpl().name("Tag").property("name", new StringProperty()));
+        final Map<String, String> cache = new HashMap<String, String>();
+
+        final List<Map<String, String>> first = new ExampleGenerator(definitions, cache)
+                .generate(null, Arrays.asList(JSON), new RefProperty("Tag"));
+        Assert.assertEquals(first.get(0).get("example"), cache.get(JSON + " ref:Tag"));
+        new ExampleGenerator(definitions, cache).generate(null, Arrays.asList(JSON), new IntegerProperty());
+        Assert.assertEquals(cache.size(), 1);
+
+        cache.put(JSON + " ref:Tag", "{ }");
+        final List<Map<String, String>> second = new ExampleGenerator(definitions, cache)
+                .generate(null, Arrays.asList(JSON), new RefProperty("Tag"));
+        Assert.assertEquals(second.get(0).get("example"), "{ }");
+    }
 }
@@ -126,6 +126,38 @@ public class InlineModelResolverTest {
         assertNull(duplicateAddress);
     }        
 
+    @Test
+    public void resolveInlineModelsOnlyDifferingByDocumentation() throws Exception {
+        for (boolean merge : new boolean[]{false, true}) {
+            Swagger swagger = new Swagger();
+
+            swagger.addDefinition("User", new ModelImpl()
+                    .property("address", new ObjectProperty()
+                            .description("home address")
+                            .property("street", new StringProperty().description("street name"))
+                            .property("city", new StringProperty())));
+            swagger.addDefinition("Company", new ModelImpl()
+                    .property("address", new ObjectProperty()
+                            .description("office address")
+                            .property("street", new StringProperty().example("Main Street"))
+                            .property("city", new StringProperty())));
+            swagger.addDefinition("Store", new ModelImpl()
+                    .property("address", new ObjectProperty()
+                            .property("street", new StringProperty())
+                            .property("city", new StringProperty().required(true))));
+
+            InlineModelResolver resolver = new InlineModelResolver();
+            resolver.setMergeInlineModels(merge);
+            resolver.flatten(swagger);
+
+            RefProperty companyAddress = (RefProperty) ((ModelImpl) swagger.getDefinitions().get("Company")).getProperties().get("address");
+            RefProperty storeAddress = (RefProperty) ((ModelImpl) swagger.getDefinitions().get("Store")).getProperties().get("address");
+            assertEquals(merge ? "User_address" : "Company_address", companyAddress.getSimpleRef());
+            assertEquals(merge, !swagger.getDefinitions().containsKey("Company_address"));
+            assertEquals("Store_address", storeAddress.getSimpleRef());
+        }
+    }
+
     @Test
     public void resolveInlineModel2DifferentInnerModelsWIthSameTitle() throws Exception {
         Swagger swagger = new Swagger();
@@ -0,0 +1,102 @@
+package io.swagger.codegen;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+public class NamingServiceTest {
+    private static final String ALPHABET = "abzABZ019_-./ $[]()#:;\\\n\t\u00df\u00e9\u03a9";
+
+    @Test(description = "camelize produces the same names as the regular expression based version")
+    public void camelizeTest() {
+        for (String name : randomNames()) {
+            Assert.assertEquals(convert(name, true, false), convert(name, false, false), name);
+            Assert.assertEquals(convert(name, true, true), convert(name, false, true), name);
+        }
+    }
+
+    @Test(description = "underscore produces the same names as the regular expression based version")
+    public void underscoreTest() {
+        for (String name : randomNames()) {
+            Assert.assertEquals(NamingService.toUnderscore(name), underscoreWithPatterns(name), name);
+        }
+    }
+
+    @Test(description = "sanitizeName produces the same names as the regular expression based version")
+    public void sanitizeNameTest() {
+        for (String name : randomNames()) {
+            Assert.assertEquals(NamingService.toSanitizedName(name, false), sanitizeWithPatterns(name, false), name);
+            Assert.assertEquals(NamingService.toSanitizedName(name, true), sanitizeWithPatterns(name, true), name);
+        }
+        Assert.assertEquals(NamingService.toSanitizedName("$", false), "value");
+    }
+
+    @Test(description = "memoized names are the converted ones")
+    public void memoTest() {
+        NamingService naming = new NamingService(2);
+        Assert.assertEquals(naming.camelize("pet_id", true), "petId");
+        Assert.assertEquals(naming.camelize("pet_id", false), "PetId");
+        Assert.assertEquals(naming.camelize("pet_id", true), "petId");
+        Assert.assertEquals(naming.camelize("store/order", false), "StoreOrder");
+        Assert.assertEquals(naming.camelize("user-name", false), "UserName");
+        Assert.assertEquals(naming.underscore("PetID"), "pet_id");
+        Assert.assertEquals(naming.sanitizeName("pet.id[]", false), "pet_id");
+
+        NamingService uncached = new NamingService(0);
+        Assert.assertEquals(uncached.camelize("pet_id", true), "petId");
+        Assert.assertEquals(uncached.camelize("pet_id", true), "petId");
+    }
+
+    private static String convert(String name, boolean singlePass, boolean lowercaseFirstLetter) {
+        try {
+            return singlePass ? NamingService.toCamelCase(name, lowercaseFirstLetter)
+                    : NamingService.toCamelCaseWithPatterns(name, lowercaseFirstLetter);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String[] randomNames() {
+        Random random = new Random(42);
+        String[] names = new String[20000];
+        for (int i = 0; i < names.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            names[i] = sb.toString();
+        }
+        return names;
+    }
+
+    private static String underscoreWithPatterns(String word) {
+        word = word.replaceAll("\\.", "/");
+        word = word.replaceAll("\\$", "__");
+        word = word.replaceAll("([A-Z]+)([A-Z][a-z])", "$1_$2");
+        word = word.replaceAll("([a-z\\d])([A-Z])", "$1_$2");
+        word = word.replace('-', '_');
+        word = word.replace(' ', '_');
+        return word.toLowerCase();
+    }
+
+    private static String sanitizeWithPatterns(String name, boolean allowUnicodeIdentifiers) {
+        if ("$".equals(name)) {
+            return "value";
+        }
+        name = name.replaceAll("\\[\\]", "");
+        name = name.replaceAll("\\[", "_");
+        name = name.replaceAll("\\]", "");
+        name = name.replaceAll("\\(", "_");
+        name = name.replaceAll("\\)", "");
+        name = name.replaceAll("\\.", "_");
+        name = name.replaceAll("-", "_");
+        name = name.replaceAll(" ", "_");
+        if (allowUnicodeIdentifiers) {
+            return Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+        }
+        return name.replaceAll("\\W", "");
+    }
+}
@@ -0,0 +1,56 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.languages.SpringCodegen;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class ParallelGeneratorTest {
+
+    @Test
+    public void testTargetsShareTheSpecDocument() throws Exception {
+        File output = Files.createTempDirectory("parallel-generator").toFile();
+        try {
+            CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setLang("java")
+                    .setInputSpec("src/test/resources/2_0/petstore.yaml")
+                    .setOutputDir(new File(output, "client").getAbsolutePath())
+                    .addTarget("spring", new File(output, "server").getAbsolutePath());
+
+            List<ClientOptInput> inputs = configurator.toClientOptInputs(null);
+
+            assertEquals(inputs.size(), 2);
+            assertTrue(inputs.get(0).getConfig() instanceof JavaClientCodegen);
+            assertTrue(inputs.get(1).getConfig() instanceof SpringCodegen);
+            assertEquals(inputs.get(1).getConfig().getOutputDir(), new File(output, "server").getAbsolutePath());
+            assertNotSame(inputs.get(0).getSwagger(), inputs.get(1).getSwagger());
+
+            List<Generator> generators = new ArrayList<Generator>();
+            for (ClientOptInput input : inputs) {
+                generators.add(new DefaultGenerator().opts(input));
+            }
+            ParallelGenerator.generate(generators);
+
+            assertTrue(new File(output, "client/src/main/java/io/swagger/client/model/Pet.java").isFile());
+            assertTrue(new File(output, "server/src/main/java/io/swagger/model/Pet.java").isFile());
+        } finally {
+            FileUtils.deleteDirectory(output);
+        }
+    }
+
+    @Test(expectedExceptions = RuntimeException.class, expectedExceptionsMessageRegExp = "missing swagger input or config!")
+    public void testFailureIsRethrown() throws Exception {
+        List<Generator> generators = new ArrayList<Generator>();
+        generators.add(new DefaultGenerator());
+        generators.add(new DefaultGenerator());
+        ParallelGenerator.generate(generators);
+    }
+}
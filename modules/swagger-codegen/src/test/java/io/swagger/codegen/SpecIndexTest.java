@@ -0,0 +1,32 @@
+package io.swagger.codegen;
+
+import io.swagger.models.Swagger;
+import io.swagger.models.Tag;
+import io.swagger.parser.SwaggerParser;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SpecIndexTest {
+
+    @Test(description = "look up tags and the model graph")
+    public void lookupTest() {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/2_0/petstore.yaml");
+        final SpecIndex index = new SpecIndex(swagger);
+
+        Assert.assertSame(index.getTag("pet"), swagger.getTags().get(0));
+        Assert.assertNull(index.getTag("undeclared"));
+        Assert.assertEquals(index.getModelGraph().getInheritanceDepth("Pet"), 0);
+    }
+
+    @Test(description = "the index is a snapshot of the spec")
+    public void snapshotTest() {
+        final Swagger swagger = new Swagger()
+                .tag(new Tag().name("pet").description("first"))
+                .tag(new Tag().name("pet").description("second"));
+        final SpecIndex index = new SpecIndex(swagger);
+        swagger.tag(new Tag().name("store"));
+
+        Assert.assertEquals(index.getTag("pet").getDescription(), "first");
+        Assert.assertNull(index.getTag("store"));
+    }
+}
@@ -0,0 +1,82 @@
+package io.swagger.codegen;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class TemplateReferencesTest {
+
+    @Test
+    public void testCollectsNamesOfTemplatesAndPartials() {
+        final Map<String, String> partials = new HashMap<String, String>();
+        partials.put("model_list", "{{#models}}{{#model}}{{classname}}{{/model}}{{/models}}");
+        TemplateReferences references = new TemplateReferences(new TemplateReferences.PartialLoader() {
+            @Override
+            public String load(String name) {
+                return partials.get(name);
+            }
+        });
+        references.addTemplate("{{! vars are not used }}{{#apiInfo}}{{{apis.0.classFilename}}}{{/apiInfo}}\n{{>model_list}}");
+
+        assertTrue(references.isReferenced("apiInfo"));
+        assertTrue(references.isReferenced("apis"));
+        assertTrue(references.isReferenced("classFilename"));
+        assertTrue(references.isReferenced("classname"));
+        assertFalse(references.isReferenced("vars"));
+
+        // partials which can not be read may refer to anything
+        references.addTemplate("{{>missing}}");
+        assertTrue(references.isReferenced("vars"));
+    }
+
+    @Test
+    public void testTrimsUnreferencedFields() {
+        TemplateReferences references = new TemplateReferences(null);
+        references.addTemplate("{{#models}}{{#model}}{{classname}}{{#vars}}{{name}}{{/vars}}{{/model}}{{/models}}");
+
+        CodegenProperty property = new CodegenProperty();
+        property.name = "id";
+        property.items = new CodegenProperty();
+        CodegenModel model = new CodegenModel();
+        model.classname = "Pet";
+        model.vars = Collections.singletonList(property);
+        model.requiredVars = Collections.singletonList(property);
+        model.parentModel = new CodegenModel();
+        Map<String, Object> modelTemplate = new HashMap<String, Object>();
+        modelTemplate.put("model", model);
+
+        references.trim(Arrays.asList(modelTemplate));
+
+        assertSame(modelTemplate.get("model"), model);
+        assertEquals(model.classname, "Pet");
+        assertEquals(model.vars, Collections.singletonList(property));
+        assertTrue(model.requiredVars.isEmpty());
+        assertNull(model.parentModel);
+        assertEquals(property.name, "id");
+        assertNull(property.items);
+    }
+
+    @Test
+    public void testKeepsClassesWithReferencedComputedProperties() {
+        TemplateReferences references = new TemplateReferences(null);
+        references.addTemplate("{{#operation}}{{#hasBodyParam}}body{{/hasBodyParam}}{{/operation}}");
+
+        CodegenOperation operation = new CodegenOperation();
+        operation.bodyParams = Collections.singletonList(new CodegenParameter());
+        references.trim(operation);
+        assertTrue(operation.getHasBodyParam());
+
+        // changed delimiters hide the names used afterwards
+        references = new TemplateReferences(null);
+        references.addTemplate("{{=<% %>=}}<%#vars%><%name%><%/vars%>");
+        CodegenModel model = new CodegenModel();
+        model.vars = Collections.singletonList(new CodegenProperty());
+        references.trim(model);
+        assertEquals(model.vars.size(), 1);
+    }
+}
@@ -0,0 +1,50 @@
+package io.swagger.codegen.config;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.CodegenConstants;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+public class CodegenConfiguratorTargetsTest {
+
+    @Test
+    public void testLibraryAndTemplatesOnlyApplyToLang() {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setLang("java")
+                .setLibrary("okhttp-gson")
+                .setTemplateDir("src/main/resources/Java")
+                .setInputSpec("src/test/resources/2_0/petstore.yaml")
+                .setOutputDir("target/targets/client")
+                .addTarget("spring", "target/targets/server");
+
+        List<ClientOptInput> inputs = configurator.toClientOptInputs(null);
+
+        assertEquals(inputs.size(), 2);
+        assertEquals(inputs.get(0).getConfig().getName(), "java");
+        assertEquals(inputs.get(0).getConfig().getLibrary(), "okhttp-gson");
+        assertEquals(inputs.get(0).getConfig().additionalProperties().get(CodegenConstants.TEMPLATE_DIR),
+                new File("src/main/resources/Java").getAbsolutePath());
+        assertEquals(inputs.get(1).getConfig().getName(), "spring");
+        assertEquals(inputs.get(1).getConfig().getLibrary(), "spring-boot");
+        assertFalse(inputs.get(1).getConfig().additionalProperties().containsKey(CodegenConstants.TEMPLATE_DIR));
+    }
+
+    @Test
+    public void testTargetsWithoutLang() {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setLibrary("okhttp-gson")
+                .setInputSpec("src/test/resources/2_0/petstore.yaml")
+                .addTarget("html", "target/targets/html");
+
+        List<ClientOptInput> inputs = configurator.toClientOptInputs(null);
+
+        assertEquals(inputs.size(), 1);
+        assertNull(inputs.get(0).getConfig().getLibrary());
+    }
+}
@@ -0,0 +1,101 @@
+package io.swagger.codegen.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+public class SpecCacheTest {
+    private static final String SPEC = "src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml";
+
+    @Test
+    public void testSameSpecAsParser() throws Exception {
+        SpecCache specCache = new SpecCache();
+        Swagger expected = new SwaggerParser().read(SPEC, null, true);
+
+        Swagger first = specCache.read(SPEC, null);
+        Swagger second = specCache.read(SPEC, null);
+
+        assertEquals(specCache.size(), 1);
+        assertNotSame(first, second);
+        assertEquals(Json.pretty(first), Json.pretty(expected));
+        assertEquals(Json.pretty(second), Json.pretty(expected));
+    }
+
+    @Test
+    public void testChangedFileIsReadAgain() throws Exception {
+        File dir = Files.createTempDirectory("spec-cache").toFile();
+        try {
+            File spec = new File(dir, "spec.json");
+            FileUtils.copyFile(new File("src/test/resources/2_0/petstore.json"), spec);
+            SpecCache specCache = new SpecCache();
+            assertEquals(specCache.read(spec.getPath(), null).getInfo().getTitle(), "Swagger Petstore");
+
+            String changed = FileUtils.readFileToString(spec, "UTF-8")
+                    .replace("\"Swagger Petstore\"", "\"Changed Petstore\"");
+            FileUtils.writeStringToFile(spec, changed, "UTF-8");
+            spec.setLastModified(spec.lastModified() + 2000);
+
+            assertEquals(specCache.read(spec.getPath(), null).getInfo().getTitle(), "Changed Petstore");
+            assertEquals(specCache.size(), 1);
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void testChangedRemoteSpecIsReadAgain() throws Exception {
+        final String petstore = FileUtils.readFileToString(new File("src/test/resources/2_0/petstore.json"), "UTF-8");
+        final AtomicReference<String> content = new AtomicReference<String>(petstore);
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/spec.json", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] body = content.get().getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(body);
+                out.close();
+            }
+        });
+        server.start();
+        try {
+            String location = "http://127.0.0.1:" + server.getAddress().getPort() + "/spec.json";
+            SpecCache specCache = new SpecCache();
+            assertEquals(specCache.read(location, null).getInfo().getTitle(), "Swagger Petstore");
+            assertEquals(specCache.read(location, null).getInfo().getTitle(), "Swagger Petstore");
+
+            content.set(petstore.replace("\"Swagger Petstore\"", "\"Changed Petstore\""));
+
+            assertEquals(specCache.read(location, null).getInfo().getTitle(), "Changed Petstore");
+            assertEquals(specCache.size(), 1);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testUnreadableSpecIsNotCached() throws Exception {
+        SpecCache specCache = new SpecCache();
+
+        assertNull(specCache.read("src/test/resources/2_0/missing.yaml", null));
+        assertEquals(specCache.size(), 0);
+    }
+}
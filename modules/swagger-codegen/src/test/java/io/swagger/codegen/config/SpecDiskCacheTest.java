@@ -0,0 +1,134 @@
+package io.swagger.codegen.config;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.*;
+
+public class SpecDiskCacheTest {
+    private static final String SPEC = "src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml";
+
+    private File dir;
+
+    @BeforeMethod
+    public void createDir() throws Exception {
+        dir = Files.createTempDirectory("spec-disk-cache").toFile();
+    }
+
+    @AfterMethod
+    public void deleteDir() throws Exception {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testSameSpecAsParser() throws Exception {
+        SpecDiskCache specCache = new SpecDiskCache(new File(dir, "cache"));
+        String expected = Json.pretty(new SwaggerParser().read(SPEC, null, true));
+
+        assertEquals(Json.pretty(specCache.read(SPEC, null)), expected);
+        assertEquals(new File(dir, "cache").list().length, 1);
+        // read from the entry, numbers such as maximum: 100 included
+        assertEquals(Json.pretty(specCache.read(SPEC, null)), expected);
+        assertEquals(Json.pretty(new SpecDiskCache(new File(dir, "cache")).read(SPEC, null)), expected);
+    }
+
+    @Test
+    public void testEntryIsUsed() throws Exception {
+        SpecDiskCache specCache = new SpecDiskCache(new File(dir, "cache"));
+        specCache.read(SPEC, null);
+
+        File entry = new File(dir, "cache").listFiles()[0];
+        ObjectNode node = (ObjectNode) Json.mapper().readTree(entry);
+        ((ObjectNode) node.get("swagger").get("info")).put("title", "From the cache");
+        Json.mapper().writeValue(entry, node);
+
+        assertEquals(specCache.read(SPEC, null).getInfo().getTitle(), "From the cache");
+    }
+
+    @Test
+    public void testChangedReferenceIsParsedAgain() throws Exception {
+        File spec = new File(dir, "swagger.yaml");
+        File pet = new File(dir, "definitions/pet.yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\n"
+                + "info:\n"
+                + "  title: Pets\n"
+                + "  version: 1.0.0\n"
+                + "paths: {}\n"
+                + "definitions:\n"
+                + "  Owner:\n"
+                + "    properties:\n"
+                + "      pet:\n"
+                + "        $ref: 'definitions/pet.yaml#/Pet'\n", "UTF-8");
+        FileUtils.writeStringToFile(pet, "Pet:\n"
+                + "  properties:\n"
+                + "    name:\n"
+                + "      type: string\n", "UTF-8");
+        SpecDiskCache specCache = new SpecDiskCache(new File(dir, "cache"));
+        assertFalse(specCache.read(spec.getPath(), null).getDefinitions().get("Pet").getProperties()
+                .containsKey("tag"));
+
+        FileUtils.writeStringToFile(pet, "Pet:\n"
+                + "  properties:\n"
+                + "    name:\n"
+                + "      type: string\n"
+                + "    tag:\n"
+                + "      type: string\n", "UTF-8");
+
+        Swagger swagger = specCache.read(spec.getPath(), null);
+        assertTrue(swagger.getDefinitions().get("Pet").getProperties().containsKey("tag"));
+        // the root spec did not change, so its entry was replaced
+        assertEquals(new File(dir, "cache").list().length, 1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesArePruned() throws Exception {
+        File cache = new File(dir, "cache");
+        SpecDiskCache specCache = new SpecDiskCache(cache, 2);
+        File first = writeSpec("first");
+        File second = writeSpec("second");
+        File third = writeSpec("third");
+
+        specCache.read(first.getPath(), null);
+        File firstEntry = cache.listFiles()[0];
+        specCache.read(second.getPath(), null);
+        File secondEntry = firstEntry.equals(cache.listFiles()[0]) ? cache.listFiles()[1] : cache.listFiles()[0];
+        long old = System.currentTimeMillis() - 60000;
+        firstEntry.setLastModified(old);
+        secondEntry.setLastModified(old);
+
+        // read from its entry, which becomes the one used most recently
+        specCache.read(first.getPath(), null);
+        specCache.read(third.getPath(), null);
+
+        assertEquals(cache.list().length, 2);
+        assertTrue(firstEntry.isFile());
+        assertFalse(secondEntry.exists());
+    }
+
+    @Test
+    public void testUnreadableSpecIsNotStored() throws Exception {
+        SpecDiskCache specCache = new SpecDiskCache(new File(dir, "cache"));
+
+        assertNull(specCache.read("src/test/resources/2_0/missing.yaml", null));
+        assertFalse(new File(dir, "cache").exists());
+    }
+
+    private File writeSpec(String title) throws Exception {
+        File spec = new File(dir, title + ".yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\n"
+                + "info:\n"
+                + "  title: " + title + "\n"
+                + "  version: 1.0.0\n"
+                + "paths: {}\n", "UTF-8");
+        return spec;
+    }
+}
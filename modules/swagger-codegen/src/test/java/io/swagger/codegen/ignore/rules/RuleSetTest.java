@@ -0,0 +1,118 @@
+package io.swagger.codegen.ignore.rules;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+public class RuleSetTest {
+    private static final List<String> PATTERN_PARTS = Arrays.asList("docs", "src", "Users", "a", "b.md", "*", "**",
+            "*.md", "?", "{a,b}", "[0-9]", "build.sh", "x y", "\\ ", "/");
+    private static final List<String> PATH_PARTS = Arrays.asList("docs", "src", "Users", "a", "b", "b.md", "1",
+            "build.sh", "x y", "a.md", "é", "K");
+
+    @Test
+    public void testSameResultsAsSequentialEvaluation() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            List<Rule> exclusionRules = new ArrayList<>();
+            List<Rule> inclusionRules = new ArrayList<>();
+            int count = 1 + random.nextInt(6);
+            for (int j = 0; j < count; j++) {
+                Rule rule;
+                try {
+                    rule = Rule.create(randomPattern(random));
+                } catch (RuntimeException e) {
+                    // not a valid glob
+                    continue;
+                }
+                if (rule == null) {
+                    continue;
+                }
+                if (Boolean.TRUE.equals(rule.getNegated())) {
+                    inclusionRules.add(rule);
+                } else {
+                    exclusionRules.add(rule);
+                }
+            }
+
+            RuleSet ruleSet = new RuleSet(exclusionRules, inclusionRules);
+            for (int j = 0; j < 50; j++) {
+                String path = randomPath(random);
+                assertEquals(evaluate(ruleSet, path, true), evaluate(ruleSet, path, false),
+                        path + " with " + definitions(exclusionRules) + " " + definitions(inclusionRules));
+            }
+        }
+    }
+
+    @Test
+    public void testDirectoryRules() throws Exception {
+        List<Rule> exclusionRules = Arrays.asList(Rule.create("docs/**/Users/"), Rule.create("*.md"));
+        List<Rule> inclusionRules = Arrays.asList(Rule.create("!README.md"), Rule.create("!docs/1/Users/a"));
+        RuleSet ruleSet = new RuleSet(exclusionRules, inclusionRules);
+
+        assertFalse(ruleSet.allows("docs/1/Users/a"));
+        assertFalse(ruleSet.allows("docs/1/Users/2/a"));
+        assertTrue(ruleSet.allows("docs/1/Users1/a"));
+        assertFalse(ruleSet.allows("CHANGES.md"));
+        assertTrue(ruleSet.allows("README.md"));
+        assertTrue(ruleSet.allows("docs/README.md"));
+    }
+
+    private static String evaluate(RuleSet ruleSet, String path, boolean compiled) {
+        try {
+            return String.valueOf(compiled ? ruleSet.allows(path) : ruleSet.allowsSequentially(path));
+        } catch (RuntimeException e) {
+            // e.g. paths the file system can not encode
+            return e.getClass().getName();
+        }
+    }
+
+    private static String randomPattern(Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextInt(4) == 0) {
+            sb.append('!');
+        }
+        if (random.nextInt(4) == 0) {
+            sb.append('/');
+        }
+        int parts = 1 + random.nextInt(4);
+        for (int i = 0; i < parts; i++) {
+            if (i > 0) {
+                sb.append('/');
+            }
+            sb.append(PATTERN_PARTS.get(random.nextInt(PATTERN_PARTS.size())));
+        }
+        if (random.nextInt(3) == 0) {
+            sb.append('/');
+        }
+        return sb.toString();
+    }
+
+    private static String randomPath(Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextInt(10) == 0) {
+            sb.append('/');
+        }
+        int parts = 1 + random.nextInt(5);
+        for (int i = 0; i < parts; i++) {
+            if (i > 0) {
+                sb.append('/');
+            }
+            sb.append(PATH_PARTS.get(random.nextInt(PATH_PARTS.size())));
+        }
+        return sb.toString();
+    }
+
+    private static List<String> definitions(List<Rule> rules) {
+        List<String> definitions = new ArrayList<>();
+        for (Rule rule : rules) {
+            definitions.add(rule.getDefinition());
+        }
+        return definitions;
+    }
+}
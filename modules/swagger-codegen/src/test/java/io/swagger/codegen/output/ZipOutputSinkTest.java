@@ -0,0 +1,59 @@
+package io.swagger.codegen.output;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.testng.Assert.assertEquals;
+
+public class ZipOutputSinkTest {
+
+    @Test
+    public void writesFilesRelativeToOutputFolder() throws Exception {
+        String root = new File("target/out").getAbsolutePath();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutputStream zip = new ZipOutputStream(bytes);
+        ZipOutputSink sink = new ZipOutputSink(zip, root, "java-client");
+
+        OutputStream readme = sink.newOutputStream(root + File.separator + "README.md");
+        OutputStream model = sink.newOutputStream(root + File.separator + "src" + File.separator + "Pet.java");
+        model.write("class Pet {}".getBytes(StandardCharsets.UTF_8));
+        readme.write("# readme".getBytes(StandardCharsets.UTF_8));
+        model.close();
+        readme.close();
+
+        // the last version is kept, as on the file system
+        OutputStream again = sink.newOutputStream(root + File.separator + "README.md");
+        again.write("changed".getBytes(StandardCharsets.UTF_8));
+        again.close();
+
+        // discarded files are not added
+        OutputStream failed = sink.newOutputStream(root + File.separator + "Failed.java");
+        failed.write("class".getBytes(StandardCharsets.UTF_8));
+        sink.discard(root + File.separator + "Failed.java", failed);
+        sink.finish();
+        zip.close();
+
+        Map<String, String> entries = new LinkedHashMap<String, String>();
+        ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            entries.put(entry.getName(), IOUtils.toString(in, StandardCharsets.UTF_8));
+        }
+
+        Map<String, String> expected = new LinkedHashMap<String, String>();
+        expected.put("java-client/src/Pet.java", "class Pet {}");
+        expected.put("java-client/README.md", "changed");
+        assertEquals(entries, expected);
+    }
+}
@@ -0,0 +1,74 @@
+package io.swagger.codegen.utils;
+
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import io.swagger.parser.SwaggerParser;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class ModelGraphTest {
+
+    @Test
+    public void indexesInheritance() {
+        Swagger swagger = new SwaggerParser().read("src/test/resources/2_0/allOfTest.yaml");
+        ModelGraph graph = new ModelGraph(swagger.getDefinitions());
+
+        assertEquals(graph.getParent("CompositionOfSimpleComposition"), "SimpleComposition");
+        assertEquals(graph.getParent("SimpleComposition"), "ModelOne");
+        assertNull(graph.getParent("ModelOne"));
+        assertEquals(graph.getInheritanceDepth("CompositionOfSimpleComposition"), 2);
+        assertEquals(graph.getInheritanceDepth("ChildOfChildOfSimpleParent"), 2);
+        assertEquals(graph.getInheritanceDepth("ModelOne"), 0);
+        assertEquals(graph.getInheritanceDepth("Unknown"), 0);
+        assertEquals(graph.getInterfaces("SimpleComposition"), Arrays.asList("ModelOne", "ModelTwo"));
+        assertTrue(graph.getChildren("SimpleComposition").contains("CompositionOfSimpleComposition"));
+
+        assertEquals(graph.getDiscriminator("SimpleParent"), "disc");
+        assertTrue(graph.hasDiscriminatorInInterfaceTree("ChildOfSimpleParent"));
+        assertTrue(graph.hasDiscriminatorInInterfaceTree("ChildOfChildOfSimpleParent"));
+        assertFalse(graph.hasDiscriminatorInInterfaceTree("SimpleComposition"));
+
+        assertTrue(graph.getReferencedBy("ModelThree").contains("CompositionOfSimpleComposition"));
+        assertTrue(graph.isGraphOf(swagger.getDefinitions()));
+        assertFalse(graph.isGraphOf(new LinkedHashMap<String, Model>(swagger.getDefinitions())));
+    }
+
+    @Test
+    public void addsInheritedPropertiesInAllOfOrder() {
+        Swagger swagger = new SwaggerParser().read("src/test/resources/2_0/allOfTest.yaml");
+        ModelGraph graph = new ModelGraph(swagger.getDefinitions());
+
+        Map<String, Property> properties = new LinkedHashMap<String, Property>();
+        List<String> required = new ArrayList<String>();
+        graph.addProperties("CompositionOfSimpleComposition", properties, required);
+        assertEquals(new ArrayList<String>(properties.keySet()), Arrays.asList("modelOneProp", "modelTwoProp",
+                "simpleCompositionProp", "modelThreeProp", "compositionOfSimpleCompositionProp"));
+
+        graph.addProperties("ChildOfSimpleParent", properties, required);
+        assertEquals(required, Collections.singletonList("disc"));
+    }
+
+    @Test
+    public void toleratesCycles() {
+        Map<String, Model> definitions = new LinkedHashMap<String, Model>();
+        definitions.put("A", new ComposedModel().interfaces(Collections.singletonList(new RefModel("B"))));
+        definitions.put("B", new ComposedModel().interfaces(Collections.singletonList(new RefModel("A"))));
+        ModelGraph graph = new ModelGraph(definitions);
+
+        assertFalse(graph.hasDiscriminatorInInterfaceTree("A"));
+        Map<String, Property> properties = new LinkedHashMap<String, Property>();
+        graph.addProperties("A", properties, new ArrayList<String>());
+        assertTrue(properties.isEmpty());
+    }
+}
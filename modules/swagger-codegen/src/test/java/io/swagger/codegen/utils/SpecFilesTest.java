@@ -0,0 +1,55 @@
+package io.swagger.codegen.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+
+public class SpecFilesTest {
+
+    @Test
+    public void collectsReferencedFiles() throws Exception {
+        File dir = Files.createTempDirectory("spec-files").toFile().getCanonicalFile();
+        try {
+            File spec = new File(dir, "swagger.yaml");
+            File pet = new File(dir, "definitions/pet.yaml");
+            File common = new File(dir, "common.json");
+            FileUtils.writeStringToFile(spec, "swagger: '2.0'\n"
+                    + "definitions:\n"
+                    + "  Pet:\n"
+                    + "    $ref: 'definitions/pet.yaml#/Pet'\n"
+                    + "  Local:\n"
+                    + "    $ref: '#/definitions/Pet'\n"
+                    + "  Remote:\n"
+                    + "    $ref: 'http://example.com/remote.yaml#/Remote'\n", "UTF-8");
+            FileUtils.writeStringToFile(pet, "Pet:\n"
+                    + "  properties:\n"
+                    + "    category:\n"
+                    + "      $ref: '../common.json#/Category'\n"
+                    + "    missing:\n"
+                    + "      $ref: 'missing.yaml'\n", "UTF-8");
+            FileUtils.writeStringToFile(common, "{\"Category\": {\"properties\": {\"parent\": "
+                    + "{\"$ref\": \"definitions/pet.yaml#/Pet\"}}}}", "UTF-8");
+
+            Set<File> files = SpecFiles.collect(spec.getPath());
+
+            assertEquals(files.iterator().next(), spec);
+            assertEquals(files, new HashSet<File>(Arrays.asList(spec, pet, common)));
+        } finally {
+            FileUtils.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void ignoresRemoteAndMissingSpecs() throws Exception {
+        assertTrue(SpecFiles.collect("http://petstore.swagger.io/v2/swagger.json").isEmpty());
+        assertTrue(SpecFiles.collect("src/test/resources/2_0/missing.yaml").isEmpty());
+        assertEquals(SpecFiles.collect("src/test/resources/2_0/petstore.yaml").size(), 1);
+    }
+}
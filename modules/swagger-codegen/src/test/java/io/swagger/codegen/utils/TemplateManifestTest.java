@@ -0,0 +1,61 @@
+package io.swagger.codegen.utils;
+
+import io.swagger.codegen.DefaultGenerator;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.testng.Assert.*;
+
+public class TemplateManifestTest {
+
+    @Test
+    public void containsIndexedFiles() throws Exception {
+        TemplateManifest manifest = TemplateManifest.load(new ByteArrayInputStream(
+                "Java/model.mustache\nJava/libraries/jersey2/api.mustache\n".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(manifest.contains("Java/model.mustache"));
+        assertTrue(manifest.contains("/Java/libraries/jersey2/api.mustache"));
+        assertFalse(manifest.contains("Java/libraries/feign/api.mustache"));
+        assertFalse(manifest.contains("myCustomCodegen/model.mustache"));
+    }
+
+    @Test
+    public void templatesMissingFromManifestAreLookedUpOnClasspath() throws Exception {
+        // added by the test resources below a folder of the packaged templates, like a template jar would
+        String custom = "Java/libraries/manifest-test/api.mustache";
+
+        assertFalse(TemplateManifest.getInstance().contains(custom));
+        assertTrue(new DefaultGenerator().embeddedTemplateExists(custom));
+        assertFalse(new DefaultGenerator().embeddedTemplateExists("Java/libraries/manifest-test/model.mustache"));
+    }
+
+    @Test
+    public void writesManifestOfResourceFolder() throws Exception {
+        File classes = Files.createTempDirectory("template-manifest").toFile();
+        try {
+            new File(classes, "Java/libraries/jersey2").mkdirs();
+            new File(classes, "io/swagger").mkdirs();
+            Files.write(new File(classes, "Java/model.mustache").toPath(), new byte[0]);
+            Files.write(new File(classes, "Java/libraries/jersey2/api.mustache").toPath(), new byte[0]);
+            Files.write(new File(classes, "io/swagger/Foo.class").toPath(), new byte[0]);
+
+            TemplateManifest.main(new String[]{classes.getAbsolutePath()});
+
+            File index = new File(classes, TemplateManifest.LOCATION);
+            assertTrue(index.exists());
+            TemplateManifest manifest = TemplateManifest.load(new FileInputStream(index));
+            assertTrue(manifest.contains("Java/model.mustache"));
+            assertTrue(manifest.contains("Java/libraries/jersey2/api.mustache"));
+            assertFalse(manifest.contains("io/swagger/Foo.class"));
+            assertFalse(manifest.contains(TemplateManifest.LOCATION));
+        } finally {
+            FileUtils.deleteDirectory(classes);
+        }
+    }
+}
@@ -2,23 +2,29 @@ package io.swagger.generator.online;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.codegen.*;
+import io.swagger.codegen.config.SpecDiskCache;
+import io.swagger.codegen.output.ZipOutputSink;
 import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.model.GeneratorInput;
 import io.swagger.generator.model.InputOption;
-import io.swagger.generator.util.ZipUtil;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.ZipOutputStream;
 
 public class Generator {
     static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
@@ -72,6 +78,7 @@ public class Generator {
             node = null;
         }
         Swagger swagger;
+        SpecDiskCache specCache = getSpecCache();
         if (node == null) {
             if (opts.getSwaggerUrl() != null) {
                 if (opts.getAuthorizationValue() != null) {
@@ -79,9 +86,11 @@ public class Generator {
                             new ArrayList<AuthorizationValue>();
                     authorizationValues.add(opts.getAuthorizationValue());
 
-                    swagger =
-                            new SwaggerParser().read(opts.getSwaggerUrl(), authorizationValues,
-                                    true);
+                    swagger = specCache != null
+                            ? specCache.read(opts.getSwaggerUrl(), authorizationValues)
+                            : new SwaggerParser().read(opts.getSwaggerUrl(), authorizationValues, true);
+                } else if (specCache != null) {
+                    swagger = specCache.read(opts.getSwaggerUrl(), null);
                 } else {
                     swagger = new SwaggerParser().read(opts.getSwaggerUrl());
                 }
@@ -91,7 +100,11 @@ public class Generator {
         } else if (opts.getAuthorizationValue() != null) {
             List<AuthorizationValue> authorizationValues = new ArrayList<AuthorizationValue>();
             authorizationValues.add(opts.getAuthorizationValue());
-            swagger = new SwaggerParser().read(node, authorizationValues, true);
+            swagger = specCache != null
+                    ? specCache.read(node, authorizationValues)
+                    : new SwaggerParser().read(node, authorizationValues, true);
+        } else if (specCache != null) {
+            swagger = specCache.read(node, null);
         } else {
             swagger = new SwaggerParser().read(node, true);
         }
@@ -134,35 +147,55 @@ public class Generator {
         clientOptInput.setConfig(codegenConfig);
 
         try {
-            List<File> files = new Codegen().opts(clientOptInput).generate();
+            Codegen codegen = new Codegen();
+            // template sources are kept for the lifetime of the service
+            codegen.setTemplateCache(TemplateCache.shared());
+            codegen.addListener(new GenerationListener() {
+                @Override
+                public void phaseCompleted(String phase, long nanos) {
+                    LOGGER.debug(phase + " completed in " + nanos / 1000000 + "ms");
+                }
+
+                @Override
+                public void generationCompleted(GenerationMetrics metrics) {
+                    LOGGER.debug("generated " + metrics.getFiles() + " files, " + metrics.getBytes() + " bytes");
+                }
+            });
+            // files go straight into the bundle, nothing is written to the output folder
+            ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(outputFilename));
+            List<File> files;
+            try {
+                ZipOutputSink sink = new ZipOutputSink(zip, outputFolder, new File(outputFolder).getName());
+                codegen.setOutputSink(sink);
+                files = codegen.opts(clientOptInput).generate();
+                sink.finish();
+            } catch (IOException | RuntimeException e) {
+                IOUtils.closeQuietly(zip);
+                throw e;
+            }
             if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<File>();
-                LOGGER.debug("adding to " + outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
+                zip.close();
             } else {
+                IOUtils.closeQuietly(zip);
                 throw new BadRequestException(
                         "A target generation was attempted, but no files were created!");
             }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath());
-                }
-            }
-            try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder);
-            }
         } catch (Exception e) {
             throw new BadRequestException("Unable to build target: " + e.getMessage());
         }
         return outputFilename;
     }
 
+    /**
+     * @return the cache of parsed specs in the directory set by the GENERATOR_SPEC_CACHE_DIR environment
+     * variable, or null if it is not set; it keeps the {@link SpecDiskCache#DEFAULT_MAX_ENTRIES} specs used most
+     * recently
+     */
+    private static SpecDiskCache getSpecCache() {
+        String specCacheDir = System.getenv("GENERATOR_SPEC_CACHE_DIR");
+        return StringUtils.isBlank(specCacheDir) ? null : new SpecDiskCache(new File(specCacheDir));
+    }
+
     public static InputOption clientOptions(@SuppressWarnings("unused") String language) {
         return null;
     }
@@ -4,8 +4,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.codegen.CliOption;
-import io.swagger.codegen.Codegen;
-import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigRegistry;
 import io.swagger.codegen.CodegenType;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.model.Generated;
@@ -32,8 +31,7 @@ public class SwaggerResource {
     private static Map<String, Generated> fileMap = new HashMap<String, Generated>();
 
     static {
-        List<CodegenConfig> extensions = Codegen.getExtensions();
-        for (CodegenConfig config : extensions) {
+        for (CodegenConfigRegistry.Entry config : CodegenConfigRegistry.getInstance().getEntries()) {
             if (config.getTag().equals(CodegenType.CLIENT)
                     || config.getTag().equals(CodegenType.DOCUMENTATION)) {
                 clients.add(config.getName());